@@ -2,8 +2,13 @@ package vv.pms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+// runs @ApplicationModuleListener methods on the task executor, after the publishing transaction commits
+@EnableAsync
 public class Application {
 
     public static void main(String[] args) {
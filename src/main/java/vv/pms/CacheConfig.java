@@ -0,0 +1,35 @@
+package vv.pms;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * In-process caches for reference data that is read on most requests but rarely changes
+ * (professors and project counts). Each module names its own caches; they are registered here up
+ * front so hit/miss metrics are published for all of them.
+ *
+ * The manager is transaction aware: puts and evictions are applied after commit, so data from a
+ * transaction that rolls back never reaches the cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    static final List<String> CACHE_NAMES = List.of("professors", "professorList", "projectCounts");
+
+    @Bean
+    public CacheManager cacheManager(@Value("${pms.cache.spec:maximumSize=1000,expireAfterWrite=10m,recordStats}") String spec) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCaffeineSpec(CaffeineSpec.parse(spec));
+        caffeine.setCacheNames(CACHE_NAMES);
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,23 @@
+package vv.pms.allocation;
+
+import java.util.List;
+
+/**
+ * One row of the allocation board: an allocation with its project, professor and students
+ * already resolved, so the page needs no further lookups.
+ */
+public record AllocationBoardRow(
+        Long projectId,
+        String projectTitle,
+        Long professorId,
+        String professorName,
+        int requiredStudents,
+        List<AssignedStudent> students
+) {
+
+    public record AssignedStudent(Long id, String name) {}
+
+    public String studentNames() {
+        return String.join(", ", students.stream().map(AssignedStudent::name).toList());
+    }
+}
@@ -1,19 +1,46 @@
 package vv.pms.allocation;
 
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import vv.pms.allocation.internal.ProjectAllocationRepository;
+import vv.pms.allocation.internal.ProjectCommandQueue;
+import vv.pms.allocation.internal.ProjectCommandQueue.Pending;
+import vv.pms.allocation.internal.StudentProjectMatcher;
+import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.ProjectService;
 import vv.pms.student.StudentService;
 import vv.pms.project.Project;
 import vv.pms.student.Student;
 import vv.pms.project.ProjectOwnershipGateway;
+import vv.pms.project.ProjectStatus;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -21,20 +48,37 @@ import java.util.stream.Collectors;
 @Transactional
 public class AllocationService implements ProjectOwnershipGateway {
 
+    private static final int APPLY_ATTEMPTS = 5;
+    // allocations written per flush by applyBulk; a few JDBC batches each
+    private static final int BULK_CHUNK_SIZE = 200;
+
+    /** A student joining or leaving a project's team, as queued for that project's writer. */
+    private record TeamChange(Long studentId, boolean join) {}
+
     private final ProjectAllocationRepository repository;
     private final ProfessorService professorService;
     private final ProjectService projectService;
     private final StudentService studentService;
+    private final ProjectListingService listingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectCommandQueue<TeamChange, ProjectAllocation> teamChanges;
 
     public AllocationService(
             ProjectAllocationRepository repository,
             ProfessorService professorService,
             ProjectService projectService,
-            StudentService studentService) {
+            StudentService studentService,
+            ProjectListingService listingService,
+            PlatformTransactionManager transactionManager,
+            @Value("${pms.allocation.apply.workers:4}") int applyWorkers,
+            @Value("${pms.allocation.apply.batch-size:64}") int applyBatchSize) {
         this.repository = repository;
         this.professorService = professorService;
         this.projectService = projectService;
         this.studentService = studentService;
+        this.listingService = listingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.teamChanges = new ProjectCommandQueue<>("team-changes", applyWorkers, applyBatchSize, this::applyBatch);
     }
 
     // --- 1. Method for the Web Controller (Returns ProjectAllocation) ---
@@ -49,8 +93,9 @@ public class AllocationService implements ProjectOwnershipGateway {
             throw new AllocationStateException("Project " + projectId + " is already allocated to a professor.");
         }
 
-        ProjectAllocation allocation = new ProjectAllocation(projectId, professorId);
-        return repository.save(allocation);
+        ProjectAllocation allocation = repository.save(new ProjectAllocation(projectId, professorId));
+        listingService.refresh(Set.of(projectId));
+        return allocation;
     }
 
     // --- 2. Method for the Interface/ProjectService (Returns void) ---
@@ -59,29 +104,174 @@ public class AllocationService implements ProjectOwnershipGateway {
         assignProfessorToProject(projectId, professorId);
     }
 
+    @Override
+    public void assignProjectOwners(Map<Long, Long> professorByProject) {
+        Map<Long, Professor> professors = professorService.findByIds(new HashSet<>(professorByProject.values()));
+        List<ProjectAllocation> allocations = professorByProject.entrySet().stream()
+                .map(e -> {
+                    if (!professors.containsKey(e.getValue())) {
+                        throw new ProfessorNotFoundException("Professor ID " + e.getValue() + " not found.");
+                    }
+                    return new ProjectAllocation(e.getKey(), e.getValue());
+                })
+                .toList();
+        repository.saveAll(allocations);
+        listingService.refresh(professorByProject.keySet());
+    }
+
     @Override
     public Optional<Long> findProjectOwnerId(Long projectId) {
         return repository.findByProjectId(projectId)
                 .map(ProjectAllocation::getProfessorId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int countAssignedStudents(Long projectId) {
+        return (int) repository.countAssignedStudents(projectId);
+    }
+
     // --- Other Methods ---
 
     public void removeProfessorAllocation(Long projectId) {
         ProjectAllocation allocation = repository.findByProjectId(projectId)
                 .orElseThrow(() -> new AllocationNotFoundException("Allocation for Project ID " + projectId + " not found."));
+        Set<Long> team = new HashSet<>(allocation.getAssignedStudentIds());
         repository.delete(allocation);
+        // the team goes with the allocation, so its students are free again and the project has room
+        studentService.updateProjectStatuses(team, false);
+        projectService.updateOccupancy(projectId, 0);
+        listingService.refresh(Set.of(projectId));
     }
 
+    /**
+     * Adds the student to the project's team. Called outside a transaction (as the controllers do), the
+     * application is queued for the project's single writer, which checks it together with the others that
+     * arrived meanwhile and commits them in one transaction (see {@link #applyBatch}); the caller waits for
+     * its own outcome. Inside an existing transaction it is applied directly and takes part in it.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ProjectAllocation assignStudentToProject(Long projectId, Long studentId) {
-        ProjectAllocation allocation = repository.findByProjectId(projectId)
-                .orElseThrow(() -> new AllocationNotFoundException("Project " + projectId + " is not yet allocated."));
+        return changeTeam(projectId, new TeamChange(studentId, true));
+    }
 
-        Project project = projectService.findProjectById(projectId)
-                .orElseThrow(() -> new ProjectNotFoundException("Project ID " + projectId + " not found."));
+    /** Removes the student from the team, queued or applied directly like {@link #assignStudentToProject}. */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProjectAllocation unassignStudentFromProject(Long projectId, Long studentId) {
+        return changeTeam(projectId, new TeamChange(studentId, false));
+    }
+
+    /**
+     * Queues the application and returns without waiting. The future completes once the batch holding it
+     * has committed, or fails with the same exceptions {@link #assignStudentToProject} throws.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ProjectAllocation> submitApplication(Long projectId, Long studentId) {
+        return teamChanges.submit(projectId, new TeamChange(studentId, true));
+    }
+
+    /** Queues the withdrawal; see {@link #submitApplication}. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<ProjectAllocation> submitWithdrawal(Long projectId, Long studentId) {
+        return teamChanges.submit(projectId, new TeamChange(studentId, false));
+    }
+
+    @PreDestroy
+    void stopTeamChanges() {
+        teamChanges.close();
+    }
+
+    private ProjectAllocation changeTeam(Long projectId, TeamChange change) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return await(teamChanges.submit(projectId, change));
+        }
+        Pending<TeamChange, ProjectAllocation> pending = new Pending<>(change, new CompletableFuture<>());
+        applyChanges(projectId, List.of(pending)).forEach(Runnable::run);
+        return await(pending.result());
+    }
 
-        Student student = studentService.findStudentById(studentId)
-                .orElseThrow(() -> new StudentNotFoundException("Student ID " + studentId + " not found."));
+    /**
+     * Runs on the project's writer thread. Applies the batch in one transaction and completes the callers'
+     * futures only after it commits. The allocation's version still catches changes made elsewhere (another
+     * node, or a direct call inside a transaction); those batches are retried a few times before every
+     * caller in them is asked to try again.
+     */
+    private void applyBatch(Long projectId, List<Pending<TeamChange, ProjectAllocation>> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.execute(status -> applyChanges(projectId, batch)).forEach(Runnable::run);
+                return;
+            } catch (RuntimeException e) {
+                if (!isConcurrentUpdate(e)) throw e;
+                if (attempt == APPLY_ATTEMPTS) {
+                    throw new AllocationStateException("Project " + projectId + " is busy right now, please try again.");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Checks each change in arrival order against the team as it stands after the ones before it, so
+     * capacity and program rules are enforced in memory on state loaded once per batch. Accepted changes
+     * are written with a single save; rejected ones change nothing. Returns the completions to run once
+     * the changes are committed.
+     */
+    private List<Runnable> applyChanges(Long projectId, List<Pending<TeamChange, ProjectAllocation>> batch) {
+        ProjectAllocation allocation = repository.findByProjectId(projectId).orElse(null);
+        Project project = projectService.findProjectById(projectId).orElse(null);
+        Set<Long> applicants = batch.stream()
+                .map(Pending::command)
+                .filter(TeamChange::join)
+                .map(TeamChange::studentId)
+                .collect(Collectors.toSet());
+        boolean anyLeaving = applicants.size() < batch.size();
+        // status is kept in step with the team size, so a full project turns applicants away before anything else is loaded
+        boolean turnedAway = project != null && project.getStatus() == ProjectStatus.FULL && !anyLeaving;
+        Map<Long, Student> students = allocation == null || project == null || turnedAway || applicants.isEmpty()
+                ? Map.of()
+                : studentService.findByIds(applicants);
+
+        List<Runnable> outcomes = new ArrayList<>(batch.size());
+        List<Pending<TeamChange, ProjectAllocation>> accepted = new ArrayList<>();
+        for (Pending<TeamChange, ProjectAllocation> pending : batch) {
+            TeamChange change = pending.command();
+            try {
+                if (change.join()) {
+                    addToTeam(projectId, allocation, project, turnedAway, students.get(change.studentId()), change.studentId());
+                } else {
+                    removeFromTeam(projectId, allocation, change.studentId());
+                }
+                accepted.add(pending);
+            } catch (AllocationStateException | AllocationNotFoundException | ProjectNotFoundException
+                     | StudentNotFoundException e) {
+                outcomes.add(() -> pending.result().completeExceptionally(e));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            ProjectAllocation saved = repository.save(allocation);
+            projectService.updateOccupancy(projectId, saved.getAssignedStudentIds().size());
+            listingService.refresh(Set.of(projectId));
+            accepted.forEach(pending -> outcomes.add(() -> pending.result().complete(saved)));
+        }
+        return outcomes;
+    }
+
+    private void addToTeam(Long projectId, ProjectAllocation allocation, Project project, boolean turnedAway,
+                           Student student, Long studentId) {
+        if (project == null) {
+            throw new ProjectNotFoundException("Project ID " + projectId + " not found.");
+        }
+        if (allocation == null) {
+            throw new AllocationNotFoundException("Project " + projectId + " is not yet allocated.");
+        }
+        if (turnedAway) {
+            throw new AllocationStateException("Project " + projectId + " is already full.");
+        }
+        if (student == null) {
+            throw new StudentNotFoundException("Student ID " + studentId + " not found.");
+        }
 
         if (allocation.getAssignedStudentIds().contains(studentId)) {
             throw new AllocationStateException("Student " + studentId + " is already assigned to this project.");
@@ -99,15 +289,17 @@ public class AllocationService implements ProjectOwnershipGateway {
             throw new AllocationStateException("Student's program (" + student.getProgram() + ") does not match restrictions.");
         }
 
+        // the student may be applying to another project at the same moment
+        if (!studentService.claimProject(studentId)) {
+            throw new AllocationStateException("Student " + studentId + " already has an assigned project.");
+        }
         allocation.addStudent(studentId);
-        studentService.updateProjectStatus(studentId, true);
-
-        return repository.save(allocation);
     }
 
-    public ProjectAllocation unassignStudentFromProject(Long projectId, Long studentId) {
-        ProjectAllocation allocation = repository.findByProjectId(projectId)
-                .orElseThrow(() -> new AllocationNotFoundException("Project " + projectId + " not allocated."));
+    private void removeFromTeam(Long projectId, ProjectAllocation allocation, Long studentId) {
+        if (allocation == null) {
+            throw new AllocationNotFoundException("Project " + projectId + " not allocated.");
+        }
 
         if (!allocation.getAssignedStudentIds().contains(studentId)) {
             throw new AllocationNotFoundException("Student " + studentId + " is not assigned to this project.");
@@ -115,8 +307,32 @@ public class AllocationService implements ProjectOwnershipGateway {
 
         allocation.unassignStudent(studentId);
         studentService.updateProjectStatus(studentId, false);
+    }
+
+    private static ProjectAllocation await(CompletableFuture<ProjectAllocation> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
 
-        return repository.save(allocation);
+    private static boolean isConcurrentUpdate(RuntimeException e) {
+        return e instanceof ConcurrencyFailureException
+                || e instanceof OptimisticLockException
+                || e instanceof PessimisticLockException
+                || e instanceof LockTimeoutException;
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            // jittered so that competing nodes do not retry in lockstep
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5L << attempt));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new AllocationStateException("Interrupted while applying, please try again.");
+        }
     }
 
     @Transactional(readOnly = true)
@@ -126,15 +342,26 @@ public class AllocationService implements ProjectOwnershipGateway {
 
     @Transactional(readOnly = true)
     public Optional<ProjectAllocation> findAllocationByStudentId(Long studentId) {
-        return repository.findAll().stream()
-                .filter(a -> a.getAssignedStudentIds().contains(studentId))
-                .findFirst();
+        return repository.findByAssignedStudentId(studentId).stream().findFirst();
+    }
+
+    /** Id of the project the student is assigned to, without loading the allocation. */
+    @Transactional(readOnly = true)
+    public Optional<Long> findProjectIdByStudentId(Long studentId) {
+        return repository.findProjectIdsByStudentId(studentId).stream().findFirst();
+    }
+
+    /** True when the professor supervises the project; a single indexed existence check. */
+    @Transactional(readOnly = true)
+    public boolean isAssignedProfessor(Long projectId, Long professorId) {
+        return repository.existsByProjectIdAndProfessorId(projectId, professorId);
     }
 
     @Transactional(readOnly = true)
     public java.util.List<Long> findStudentsByProjectId(Long projectId) {
+        // copied so callers outside a transaction are not handed an uninitialized lazy collection
         return repository.findByProjectId(projectId)
-                .map(ProjectAllocation::getAssignedStudentIds)
+                .map(a -> List.copyOf(a.getAssignedStudentIds()))
                 .orElse(java.util.List.of());
     }
 
@@ -155,45 +382,226 @@ public class AllocationService implements ProjectOwnershipGateway {
         return projectService.findProjectsByIds(projectIds);
     }
 
+    /**
+     * Places as many unassigned students as possible. Everything is loaded once, the matching runs
+     * in memory (see {@link StudentProjectMatcher}) and the result is written back in one batch.
+     */
     @Transactional
     public void runBestEffortAllocation() {
         List<Project> projects = projectService.findAllProjects();
-        List<Student> students = studentService.findAllStudents();
-
-        for (Project project : projects) {
-            Optional<ProjectAllocation> existing = repository.findByProjectId(project.getId());
-            if (existing.isEmpty()) {
-                professorService.findAllProfessors().stream().findFirst().ifPresent(prof -> {
-                    try {
-                        assignProfessorToProject(project.getId(), prof.getId());
-                    } catch (RuntimeException ignored) { }
-                });
+        Map<Long, ProjectAllocation> allocations = repository.findAllWithStudents().stream()
+                .collect(Collectors.toMap(ProjectAllocation::getProjectId, Function.identity()));
+
+        // Projects without an owner go to the first professor, as before.
+        List<ProjectAllocation> newAllocations = new ArrayList<>();
+        professorService.findAllProfessors().stream().findFirst().ifPresent(prof -> {
+            for (Project project : projects) {
+                if (!allocations.containsKey(project.getId())) {
+                    ProjectAllocation allocation = new ProjectAllocation(project.getId(), prof.getId());
+                    allocations.put(project.getId(), allocation);
+                    newAllocations.add(allocation);
+                }
             }
-        }
+        });
 
-        students = studentService.findAllStudents();
-        List<ProjectAllocation> allocations = repository.findAll();
+        Set<Long> alreadyPlaced = allocations.values().stream()
+                .flatMap(a -> a.getAssignedStudentIds().stream())
+                .collect(Collectors.toSet());
+        List<StudentProjectMatcher.Candidate> candidates = studentService.findStudentsWithoutProject().stream()
+                .filter(s -> !alreadyPlaced.contains(s.getId()))
+                .map(s -> new StudentProjectMatcher.Candidate(s.getId(), s.getProgram()))
+                .toList();
+
+        List<StudentProjectMatcher.Opening> openings = projects.stream()
+                .filter(p -> allocations.containsKey(p.getId()))
+                .map(p -> new StudentProjectMatcher.Opening(
+                        p.getId(),
+                        p.getRequiredStudents() - allocations.get(p.getId()).getAssignedStudentIds().size(),
+                        p.getProgramRestrictions()))
+                .toList();
+
+        Map<Long, List<Long>> matches = StudentProjectMatcher.match(openings, candidates);
+
+        Set<ProjectAllocation> changed = new LinkedHashSet<>(newAllocations);
+        Set<Long> placedStudents = new HashSet<>();
+        matches.forEach((projectId, studentIds) -> {
+            ProjectAllocation allocation = allocations.get(projectId);
+            studentIds.forEach(allocation::addStudent);
+            placedStudents.addAll(studentIds);
+            changed.add(allocation);
+        });
+
+        repository.saveAll(changed);
+        studentService.updateProjectStatuses(placedStudents, true);
+        changed.forEach(a -> projectService.updateOccupancy(a.getProjectId(), a.getAssignedStudentIds().size()));
+        listingService.refresh(changed.stream().map(ProjectAllocation::getProjectId).toList());
+    }
 
-        for (ProjectAllocation allocation : allocations) {
-            Project project = projectService.findProjectById(allocation.getProjectId()).orElse(null);
-            if (project == null) continue;
+    /**
+     * Applies a coordinator's bulk assignments. Professor items are checked against the projects,
+     * professors and allocations the request mentions, each loaded with one query per kind, and the new
+     * allocations are committed in chunks so Hibernate can batch the inserts. Student items then go
+     * through the same per-project writer as single applications (see {@link #assignStudentToProject}),
+     * so they cannot race a student applying at the same moment; the writer folds a project's items into
+     * a few batches. Rejected items are reported with the message the single-item call would give and do
+     * not stop the rest.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BulkAllocationReport applyBulk(BulkAllocationRequest request) {
+        List<BulkAllocationReport.ItemResult> professorResults = new ArrayList<>(request.professors().size());
+        if (!request.professors().isEmpty()) {
+            Set<Long> created = transactionTemplate.execute(status -> allocateProfessors(request.professors(), professorResults));
+            listingService.refresh(created);
+        }
 
-            int capacity = project.getRequiredStudents();
-            for (Student student : students) {
-                if (student.isHasProject()) continue;
-                if (!project.getProgramRestrictions().isEmpty() && !project.getProgramRestrictions().contains(student.getProgram())) continue;
-                if (allocation.getAssignedStudentIds().size() >= capacity) break;
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        Map<Long, List<Pending<TeamChange, ProjectAllocation>>> direct = new LinkedHashMap<>();
+        List<CompletableFuture<ProjectAllocation>> outcomes = new ArrayList<>(request.students().size());
+        for (BulkAllocationRequest.StudentAssignment item : request.students()) {
+            if (item.projectId() == null || item.studentId() == null) {
+                outcomes.add(CompletableFuture.failedFuture(
+                        new AllocationStateException("projectId and studentId are required.")));
+            } else if (inTransaction) {
+                // the workers could not see this transaction's rows, so apply in it, as changeTeam does
+                Pending<TeamChange, ProjectAllocation> pending = new Pending<>(new TeamChange(item.studentId(), true), new CompletableFuture<>());
+                direct.computeIfAbsent(item.projectId(), id -> new ArrayList<>()).add(pending);
+                outcomes.add(pending.result());
+            } else {
+                outcomes.add(teamChanges.submit(item.projectId(), new TeamChange(item.studentId(), true)));
+            }
+        }
+        direct.forEach((projectId, batch) -> applyChanges(projectId, batch).forEach(Runnable::run));
+
+        List<BulkAllocationReport.ItemResult> studentResults = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            BulkAllocationRequest.StudentAssignment item = request.students().get(i);
+            try {
+                await(outcomes.get(i));
+                studentResults.add(BulkAllocationReport.ItemResult.applied(i, item.projectId(), item.studentId()));
+            } catch (AllocationStateException | AllocationNotFoundException | ProjectNotFoundException
+                     | StudentNotFoundException e) {
+                studentResults.add(BulkAllocationReport.ItemResult.rejected(i, item.projectId(), item.studentId(), e.getMessage()));
+            }
+        }
+        return BulkAllocationReport.of(professorResults, studentResults);
+    }
 
-                try {
-                    assignStudentToProject(project.getId(), student.getId());
-                } catch (RuntimeException ignored) { }
+    /** Creates the accepted professor allocations and records an outcome per item; returns their project ids. */
+    private Set<Long> allocateProfessors(List<BulkAllocationRequest.ProfessorAssignment> items,
+                                         List<BulkAllocationReport.ItemResult> results) {
+        Set<Long> projectIds = new HashSet<>();
+        Set<Long> professorIds = new HashSet<>();
+        items.forEach(a -> { projectIds.add(a.projectId()); professorIds.add(a.professorId()); });
+        projectIds.remove(null);
+        professorIds.remove(null);
+
+        Set<Long> projects = projectService.findProjectsByIds(projectIds).stream()
+                .map(Project::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Professor> professors = professorIds.isEmpty() ? Map.of() : professorService.findByIds(professorIds);
+        Set<Long> allocated = (projectIds.isEmpty() ? List.<ProjectAllocation>of()
+                : repository.findByProjectIdIn(projectIds)).stream()
+                .map(ProjectAllocation::getProjectId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<ProjectAllocation> created = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkAllocationRequest.ProfessorAssignment item = items.get(i);
+            String error;
+            if (item.projectId() == null || item.professorId() == null) {
+                error = "projectId and professorId are required.";
+            } else if (!projects.contains(item.projectId())) {
+                error = "Project ID " + item.projectId() + " not found.";
+            } else if (!professors.containsKey(item.professorId())) {
+                error = "Professor ID " + item.professorId() + " not found.";
+            } else if (!allocated.add(item.projectId())) {
+                error = "Project " + item.projectId() + " is already allocated to a professor.";
+            } else {
+                created.add(new ProjectAllocation(item.projectId(), item.professorId()));
+                error = null;
             }
+            results.add(error == null
+                    ? BulkAllocationReport.ItemResult.applied(i, item.projectId(), item.professorId())
+                    : BulkAllocationReport.ItemResult.rejected(i, item.projectId(), item.professorId(), error));
+        }
+
+        for (int from = 0; from < created.size(); from += BULK_CHUNK_SIZE) {
+            repository.saveAll(created.subList(from, Math.min(from + BULK_CHUNK_SIZE, created.size())));
+            repository.flush();
         }
+        return created.stream().map(ProjectAllocation::getProjectId).collect(Collectors.toSet());
     }
 
     @Transactional(readOnly = true)
     public List<ProjectAllocation> findAllAllocations() {
-        return repository.findAll();
+        return repository.findAllWithStudents();
+    }
+
+    /**
+     * Read model for the allocation board. Allocations, projects and professors are loaded with one
+     * query each and joined through id-keyed maps; students are only resolved for the requested page.
+     *
+     * @param search      optional case-insensitive match on project title or professor name
+     * @param professorId optional professor filter
+     */
+    @Transactional(readOnly = true)
+    public Page<AllocationBoardRow> findAllocationBoard(String search, Long professorId, Pageable pageable) {
+        List<ProjectAllocation> allocations = repository.findAllWithStudents().stream()
+                .filter(a -> professorId == null || professorId.equals(a.getProfessorId()))
+                .toList();
+
+        Map<Long, Project> projects = projectService.findProjectsByIds(allocations.stream()
+                        .map(ProjectAllocation::getProjectId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, Professor> professors = professorService.findByIds(allocations.stream()
+                .map(ProjectAllocation::getProfessorId).collect(Collectors.toSet()));
+
+        String needle = search == null || search.isBlank() ? null : search.trim().toLowerCase();
+        List<ProjectAllocation> matching = allocations.stream()
+                .filter(a -> needle == null
+                        || titleOf(projects.get(a.getProjectId())).toLowerCase().contains(needle)
+                        || nameOf(professors.get(a.getProfessorId())).toLowerCase().contains(needle))
+                .sorted(Comparator.comparing((ProjectAllocation a) -> titleOf(projects.get(a.getProjectId())),
+                                String.CASE_INSENSITIVE_ORDER)
+                        .thenComparing(ProjectAllocation::getProjectId))
+                .toList();
+
+        List<ProjectAllocation> pageContent = matching;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), matching.size());
+            int to = Math.min(from + pageable.getPageSize(), matching.size());
+            pageContent = matching.subList(from, to);
+        }
+
+        Map<Long, Student> students = studentService.findByIds(pageContent.stream()
+                .flatMap(a -> a.getAssignedStudentIds().stream()).collect(Collectors.toSet()));
+
+        List<AllocationBoardRow> rows = pageContent.stream()
+                .map(a -> {
+                    Project project = projects.get(a.getProjectId());
+                    List<AllocationBoardRow.AssignedStudent> team = a.getAssignedStudentIds().stream()
+                            .map(students::get)
+                            .filter(Objects::nonNull)
+                            .map(s -> new AllocationBoardRow.AssignedStudent(s.getId(), s.getName()))
+                            .toList();
+                    return new AllocationBoardRow(
+                            a.getProjectId(),
+                            titleOf(project),
+                            a.getProfessorId(),
+                            nameOf(professors.get(a.getProfessorId())),
+                            project != null ? project.getRequiredStudents() : 0,
+                            team);
+                })
+                .toList();
+        return new PageImpl<>(rows, pageable, matching.size());
+    }
+
+    private static String titleOf(Project project) {
+        return project != null ? project.getTitle() : "(deleted project)";
+    }
+
+    private static String nameOf(Professor professor) {
+        return professor != null ? professor.getName() : "(unknown)";
     }
 
     @Transactional(readOnly = true)
@@ -204,10 +612,18 @@ public class AllocationService implements ProjectOwnershipGateway {
 
     @Transactional(readOnly = true)
     public Map<Long, Long> mapStudentToProjectIds() {
-        return repository.findAll().stream()
-                .flatMap(a -> a.getAssignedStudentIds().stream()
-                        .map(sid -> new java.util.AbstractMap.SimpleEntry<>(sid, a.getProjectId())))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return repository.findStudentProjectPairs().stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1], (first, second) -> first));
+    }
+
+    /** Project of each of the given students that is on a team, in one query. */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> mapStudentToProjectIds(Set<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findStudentProjectPairs(studentIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1], (first, second) -> first));
     }
 
     public static class AllocationNotFoundException extends RuntimeException {
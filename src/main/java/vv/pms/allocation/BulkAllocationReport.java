@@ -0,0 +1,33 @@
+package vv.pms.allocation;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link BulkAllocationRequest}, one result per item in request order. Rejected items
+ * carry the same message the single-item endpoints would have returned.
+ */
+public record BulkAllocationReport(
+        int applied,
+        int rejected,
+        List<ItemResult> professors,
+        List<ItemResult> students
+) {
+
+    /** Result for the item at {@code index}; {@code assigneeId} is the professor or student id. */
+    public record ItemResult(int index, Long projectId, Long assigneeId, boolean applied, String error) {
+
+        static ItemResult applied(int index, Long projectId, Long assigneeId) {
+            return new ItemResult(index, projectId, assigneeId, true, null);
+        }
+
+        static ItemResult rejected(int index, Long projectId, Long assigneeId, String error) {
+            return new ItemResult(index, projectId, assigneeId, false, error);
+        }
+    }
+
+    static BulkAllocationReport of(List<ItemResult> professors, List<ItemResult> students) {
+        int applied = (int) (professors.stream().filter(ItemResult::applied).count()
+                + students.stream().filter(ItemResult::applied).count());
+        return new BulkAllocationReport(applied, professors.size() + students.size() - applied, professors, students);
+    }
+}
@@ -0,0 +1,26 @@
+package vv.pms.allocation;
+
+import java.util.List;
+
+/**
+ * A coordinator's batch of assignments, e.g. the term-start import. Professor assignments are applied
+ * first, so students may be placed on projects allocated in the same request.
+ */
+public record BulkAllocationRequest(
+        List<ProfessorAssignment> professors,
+        List<StudentAssignment> students
+) {
+
+    public record ProfessorAssignment(Long projectId, Long professorId) {}
+
+    public record StudentAssignment(Long projectId, Long studentId) {}
+
+    public BulkAllocationRequest {
+        professors = professors == null ? List.of() : professors;
+        students = students == null ? List.of() : students;
+    }
+
+    public int size() {
+        return professors.size() + students.size();
+    }
+}
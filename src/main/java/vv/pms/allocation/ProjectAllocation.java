@@ -9,7 +9,8 @@ import java.util.List;
 public class ProjectAllocation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_allocation_seq")
+    @SequenceGenerator(name = "project_allocation_seq", sequenceName = "project_allocation_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -18,8 +19,14 @@ public class ProjectAllocation {
     @Column(nullable = false)
     private Long professorId;
 
+    // Bumped whenever the team changes, so concurrent applications to one project cannot both commit
+    @Version
+    private Long version;
+
     @ElementCollection
-    @CollectionTable(name = "allocation_students", joinColumns = @JoinColumn(name = "allocation_id"))
+    @CollectionTable(name = "allocation_students",
+            joinColumns = @JoinColumn(name = "allocation_id"),
+            indexes = @Index(name = "idx_allocation_students_student", columnList = "student_id"))
     @Column(name = "student_id", nullable = false)
     private List<Long> assignedStudentIds = new ArrayList<>();
 
@@ -60,6 +67,10 @@ public class ProjectAllocation {
         return professorId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<Long> getAssignedStudentIds() {
         return assignedStudentIds;
     }
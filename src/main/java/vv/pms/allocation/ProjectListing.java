@@ -0,0 +1,102 @@
+package vv.pms.allocation;
+
+import jakarta.persistence.*;
+import vv.pms.project.Program;
+import vv.pms.project.ProjectStatus;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * One row per project with everything the project list shows: title, status, owner and how many
+ * places are taken. Maintained by {@link ProjectListingService} whenever a project, its allocation or
+ * its owner changes, so listing a page is a single indexed query with no allocation or professor lookups.
+ */
+@Entity
+@Table(name = "project_listings", indexes = {
+        @Index(name = "idx_project_listings_title_id", columnList = "title, projectId"),
+        @Index(name = "idx_project_listings_status", columnList = "status"),
+        @Index(name = "idx_project_listings_professor", columnList = "professorId")
+})
+public class ProjectListing {
+
+    @Id
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProjectStatus status;
+
+    @ElementCollection
+    @CollectionTable(name = "project_listing_programs", joinColumns = @JoinColumn(name = "project_id"),
+            indexes = @Index(name = "idx_project_listing_programs_program", columnList = "program, project_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "program")
+    private Set<Program> programs = new HashSet<>();
+
+    private Long professorId;
+
+    private String ownerName;
+
+    @Column(nullable = false)
+    private int requiredStudents;
+
+    @Column(nullable = false)
+    private int assignedStudents;
+
+    protected ProjectListing() {}
+
+    ProjectListing(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    void update(String title, ProjectStatus status, Set<Program> programs, int requiredStudents,
+                Long professorId, String ownerName, int assignedStudents) {
+        this.title = title;
+        this.status = status;
+        if (!this.programs.equals(programs)) {
+            this.programs.clear();
+            this.programs.addAll(programs);
+        }
+        this.requiredStudents = requiredStudents;
+        this.professorId = professorId;
+        this.ownerName = ownerName;
+        this.assignedStudents = assignedStudents;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public ProjectStatus getStatus() {
+        return status;
+    }
+
+    public Long getProfessorId() {
+        return professorId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public int getRequiredStudents() {
+        return requiredStudents;
+    }
+
+    public int getAssignedStudents() {
+        return assignedStudents;
+    }
+
+    /** Places still free, never below zero. */
+    public int getOpenSpots() {
+        return Math.max(requiredStudents - assignedStudents, 0);
+    }
+}
@@ -0,0 +1,207 @@
+package vv.pms.allocation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.internal.ProjectAllocationRepository;
+import vv.pms.allocation.internal.ProjectListingRepository;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorChanged;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectChanged;
+import vv.pms.project.ProjectCursor;
+import vv.pms.project.ProjectService;
+import vv.pms.project.ProjectStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the {@link ProjectListing} read model in step with projects, allocations and professors, and
+ * serves the project list from it.
+ *
+ * Rows are refreshed inside the transaction that changed their sources: AllocationService calls
+ * {@link #refresh} directly, project and professor changes arrive as events. The whole table is
+ * rebuilt at startup so data written around the services is picked up too.
+ */
+@Service
+@Transactional
+public class ProjectListingService {
+
+    private final ProjectListingRepository repository;
+    private final ProjectAllocationRepository allocationRepository;
+    private final ProjectService projectService;
+    private final ProfessorService professorService;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public ProjectListingService(ProjectListingRepository repository,
+                                 ProjectAllocationRepository allocationRepository,
+                                 ProjectService projectService,
+                                 ProfessorService professorService) {
+        this.repository = repository;
+        this.allocationRepository = allocationRepository;
+        this.projectService = projectService;
+        this.professorService = professorService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Set<Long> projectIds = projectService.findAllProjects().stream().map(Project::getId).collect(Collectors.toSet());
+        repository.deleteAll(repository.findAll().stream().filter(l -> !projectIds.contains(l.getProjectId())).toList());
+        refresh(projectIds);
+    }
+
+    @EventListener
+    public void on(ProjectChanged event) {
+        refresh(Set.of(event.projectId()));
+    }
+
+    @EventListener
+    public void on(ProfessorChanged event) {
+        repository.updateOwnerName(event.professorId(), event.name());
+    }
+
+    /** Recomputes the rows of the given projects, dropping those whose project no longer exists. */
+    public void refresh(Collection<Long> projectIds) {
+        Set<Long> ids = projectIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, Project> projects = projectService.findProjectsByIds(ids).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, ProjectAllocation> allocations = allocationRepository.findByProjectIdIn(ids).stream()
+                .collect(Collectors.toMap(ProjectAllocation::getProjectId, Function.identity(), (first, second) -> first));
+        Map<Long, Professor> professors = professorService.findByIds(allocations.values().stream()
+                .map(ProjectAllocation::getProfessorId).collect(Collectors.toSet()));
+        Map<Long, ProjectListing> existing = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ProjectListing::getProjectId, Function.identity()));
+
+        for (Long id : ids) {
+            Project project = projects.get(id);
+            if (project == null) {
+                if (existing.containsKey(id)) repository.delete(existing.get(id));
+                continue;
+            }
+            ProjectAllocation allocation = allocations.get(id);
+            Professor owner = allocation != null ? professors.get(allocation.getProfessorId()) : null;
+            ProjectListing listing = existing.computeIfAbsent(id, ProjectListing::new);
+            listing.update(project.getTitle(), project.getStatus(),
+                    project.getProgramRestrictions() != null ? project.getProgramRestrictions() : Set.of(),
+                    project.getRequiredStudents(),
+                    allocation != null ? allocation.getProfessorId() : null,
+                    owner != null ? owner.getName() : null,
+                    allocation != null ? allocation.getAssignedStudentIds().size() : 0);
+            repository.save(listing);
+        }
+    }
+
+    /** Offset-paged project list ordered by (title, id); {@code openOnly} keeps projects still taking students. */
+    @Transactional(readOnly = true)
+    public Page<ProjectListing> findListings(String program, String status, boolean openOnly, Pageable pageable) {
+        ListingFilter filter = ListingFilter.of(program, status, openOnly);
+
+        TypedQuery<ProjectListing> query = em.createQuery(filter.select(null), ProjectListing.class);
+        filter.bind(query);
+        if (pageable.isUnpaged()) {
+            List<ProjectListing> all = query.getResultList();
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        return new PageImpl<>(query.getResultList(), pageable, countListings(program, status, openOnly));
+    }
+
+    @Transactional(readOnly = true)
+    public long countListings(String program, String status, boolean openOnly) {
+        ListingFilter filter = ListingFilter.of(program, status, openOnly);
+        TypedQuery<Long> count = em.createQuery(filter.count(), Long.class);
+        filter.bind(count);
+        return count.getSingleResult();
+    }
+
+    /** Keyset-paged project list: the {@code size} rows after {@code after} in (title, id) order. */
+    @Transactional(readOnly = true)
+    public Slice<ProjectListing> findListingsAfter(String program, String status, boolean openOnly,
+                                                   ProjectCursor after, int size) {
+        if (size < 1) throw new IllegalArgumentException("Page size must be at least 1");
+        ListingFilter filter = ListingFilter.of(program, status, openOnly);
+
+        TypedQuery<ProjectListing> query = em.createQuery(filter.select(after), ProjectListing.class);
+        filter.bind(query);
+        if (after != null) {
+            query.setParameter("afterTitle", after.title());
+            query.setParameter("afterId", after.id());
+        }
+        query.setMaxResults(size + 1);
+        List<ProjectListing> rows = query.getResultList();
+
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.ofSize(size), hasNext);
+    }
+
+    /** Rows for the given projects, in the order the ids are given. */
+    @Transactional(readOnly = true)
+    public List<ProjectListing> findListingsByProjectIds(List<Long> projectIds) {
+        Map<Long, ProjectListing> byId = repository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(ProjectListing::getProjectId, Function.identity()));
+        return projectIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private record ListingFilter(Program program, ProjectStatus status, boolean openOnly) {
+
+        static ListingFilter of(String program, String status, boolean openOnly) {
+            return new ListingFilter(
+                    (program != null && !program.isBlank()) ? Program.valueOf(program.toUpperCase()) : null,
+                    (status != null && !status.isBlank()) ? ProjectStatus.valueOf(status.toUpperCase()) : null,
+                    openOnly);
+        }
+
+        String select(ProjectCursor after) {
+            StringBuilder sb = new StringBuilder("SELECT l FROM ProjectListing l");
+            where(sb);
+            if (after != null) {
+                sb.append(" AND (l.title > :afterTitle OR (l.title = :afterTitle AND l.projectId > :afterId))");
+            }
+            return sb.append(" ORDER BY l.title ASC, l.projectId ASC").toString();
+        }
+
+        String count() {
+            StringBuilder sb = new StringBuilder("SELECT COUNT(l) FROM ProjectListing l");
+            where(sb);
+            return sb.toString();
+        }
+
+        private void where(StringBuilder sb) {
+            sb.append(" WHERE 1=1");
+            if (program != null) sb.append(" AND :program MEMBER OF l.programs");
+            if (status != null) sb.append(" AND l.status = :status");
+            // OPEN is maintained from the team size, so this is the indexed status predicate
+            if (openOnly) sb.append(" AND l.status = :open");
+        }
+
+        void bind(TypedQuery<?> query) {
+            if (program != null) query.setParameter("program", program);
+            if (status != null) query.setParameter("status", status);
+            if (openOnly) query.setParameter("open", ProjectStatus.OPEN);
+        }
+    }
+}
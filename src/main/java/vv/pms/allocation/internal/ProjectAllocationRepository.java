@@ -1,7 +1,11 @@
 package vv.pms.allocation.internal;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import vv.pms.allocation.ProjectAllocation;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 import java.util.List;
@@ -11,9 +15,36 @@ public interface ProjectAllocationRepository extends JpaRepository<ProjectAlloca
     // Custom finder to check if a project is already allocated
     Optional<ProjectAllocation> findByProjectId(Long projectId);
 
-    // Finds all allocations where the projectId is in the given set.
+    // Finds all allocations where the projectId is in the given set, students included.
+    @EntityGraph(attributePaths = "assignedStudentIds")
     List<ProjectAllocation> findByProjectIdIn(Set<Long> projectIds);
 
+    boolean existsByProjectIdAndProfessorId(Long projectId, Long professorId);
+
     // Finds all allocations for a specific professor
     List<ProjectAllocation> findByProfessorId(Long professorId);
+
+    // Loads every allocation together with its students in a single query
+    @Query("SELECT DISTINCT a FROM ProjectAllocation a LEFT JOIN FETCH a.assignedStudentIds")
+    List<ProjectAllocation> findAllWithStudents();
+
+    // Allocation holding the given student, resolved through the student_id index on allocation_students
+    @Query("SELECT DISTINCT a FROM ProjectAllocation a JOIN a.assignedStudentIds s LEFT JOIN FETCH a.assignedStudentIds WHERE s = :studentId")
+    List<ProjectAllocation> findByAssignedStudentId(@Param("studentId") Long studentId);
+
+    // Reverse lookup: project id for the given student without loading the allocation
+    @Query("SELECT a.projectId FROM ProjectAllocation a JOIN a.assignedStudentIds s WHERE s = :studentId")
+    List<Long> findProjectIdsByStudentId(@Param("studentId") Long studentId);
+
+    // Team size from the allocation_students rows alone
+    @Query("SELECT COUNT(s) FROM ProjectAllocation a JOIN a.assignedStudentIds s WHERE a.projectId = :projectId")
+    long countAssignedStudents(@Param("projectId") Long projectId);
+
+    // (studentId, projectId) pairs for every assigned student
+    @Query("SELECT s, a.projectId FROM ProjectAllocation a JOIN a.assignedStudentIds s")
+    List<Object[]> findStudentProjectPairs();
+
+    // The same pairs for the given students only
+    @Query("SELECT s, a.projectId FROM ProjectAllocation a JOIN a.assignedStudentIds s WHERE s IN :studentIds")
+    List<Object[]> findStudentProjectPairs(@Param("studentIds") Collection<Long> studentIds);
 }
@@ -0,0 +1,145 @@
+package vv.pms.allocation.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-project command queue with a single writer per project.
+ *
+ * Commands for one project are handed to the handler in arrival order, in batches of up to
+ * {@code batchSize}, and never two batches for the same project at once; different projects are drained
+ * in parallel by a small worker pool. After each batch a busy project goes to the back of the pool's
+ * queue, so one hot project cannot starve the others. The handler completes each command's future;
+ * any it leaves open are failed. A project's lane is dropped once it has drained, so the queue only
+ * holds state for projects with work in flight.
+ */
+public class ProjectCommandQueue<C, R> implements AutoCloseable {
+
+    public record Pending<C, R>(C command, CompletableFuture<R> result) {}
+
+    private static final class Lane<C, R> {
+        final Queue<Pending<C, R>> commands = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ConcurrentHashMap<Long, Lane<C, R>> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final int batchSize;
+    private final BiConsumer<Long, List<Pending<C, R>>> handler;
+
+    public ProjectCommandQueue(String name, int workers, int batchSize, BiConsumer<Long, List<Pending<C, R>>> handler) {
+        if (workers < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("workers and batchSize must be at least 1");
+        }
+        this.workers = Executors.newFixedThreadPool(workers, daemonThreads(name));
+        this.batchSize = batchSize;
+        this.handler = handler;
+    }
+
+    public CompletableFuture<R> submit(Long projectId, C command) {
+        Pending<C, R> pending = new Pending<>(command, new CompletableFuture<>());
+        // added under the map's lock for this project, so a draining worker cannot drop the lane in between
+        Lane<C, R> lane = lanes.compute(projectId, (id, current) -> {
+            Lane<C, R> target = current != null ? current : new Lane<>();
+            target.commands.add(pending);
+            return target;
+        });
+        schedule(projectId, lane);
+        return pending.result();
+    }
+
+    private void schedule(Long projectId, Lane<C, R> lane) {
+        if (!lane.scheduled.compareAndSet(false, true)) {
+            return; // a worker already owns this project and will see the command
+        }
+        try {
+            workers.execute(() -> drain(projectId, lane));
+        } catch (RejectedExecutionException e) {
+            lane.scheduled.set(false);
+            Pending<C, R> pending;
+            while ((pending = lane.commands.poll()) != null) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void drain(Long projectId, Lane<C, R> lane) {
+        List<Pending<C, R>> batch = new ArrayList<>(batchSize);
+        Pending<C, R> next;
+        while (batch.size() < batchSize && (next = lane.commands.poll()) != null) {
+            batch.add(next);
+        }
+        try {
+            if (!batch.isEmpty()) {
+                handler.accept(projectId, batch);
+            }
+        } catch (RuntimeException | Error e) {
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        } finally {
+            batch.forEach(p -> p.result().completeExceptionally(
+                    new IllegalStateException("Command for project " + projectId + " was not completed")));
+            lane.scheduled.set(false);
+            // commands that arrived while we held the lane would otherwise wait for the next submit
+            if (!lane.commands.isEmpty()) {
+                schedule(projectId, lane);
+            } else {
+                // a submit re-creates the lane; one that raced us has added to it and scheduled it, so it stays
+                lanes.computeIfPresent(projectId, (id, current) ->
+                        current == lane && lane.commands.isEmpty() && !lane.scheduled.get() ? null : current);
+            }
+        }
+    }
+
+    /** Number of projects with queued or running commands. */
+    int activeLanes() {
+        return lanes.size();
+    }
+
+    /**
+     * Stops taking commands and waits for the batches already handed to the pool to finish. Commands
+     * still queued behind them are failed rather than left waiting.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        RejectedExecutionException closed = new RejectedExecutionException("Command queue is closed");
+        lanes.values().forEach(lane -> {
+            Pending<C, R> pending;
+            while ((pending = lane.commands.poll()) != null) {
+                pending.result().completeExceptionally(closed);
+            }
+        });
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package vv.pms.allocation.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import vv.pms.allocation.ProjectListing;
+
+public interface ProjectListingRepository extends JpaRepository<ProjectListing, Long> {
+
+    // Copies a professor's new name onto every project they own; null when the professor is gone
+    @Modifying
+    @Query("UPDATE ProjectListing l SET l.ownerName = :name WHERE l.professorId = :professorId")
+    int updateOwnerName(@Param("professorId") Long professorId, @Param("name") String name);
+}
@@ -0,0 +1,177 @@
+package vv.pms.allocation.internal;
+
+import vv.pms.project.Program;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory maximum matching of unassigned students to open project spots.
+ *
+ * Students carry no preferences, so two students of the same program are interchangeable.
+ * The flow network is therefore built over program groups instead of individual students:
+ * source -> program (number of free students) -> project (if allowed) -> sink (open spots).
+ * With at most one node per program the network stays tiny even for thousands of students,
+ * and the maximum flow is the largest number of students that can be placed.
+ */
+public final class StudentProjectMatcher {
+
+    /** A student that still needs a project. */
+    public record Candidate(Long studentId, Program program) {}
+
+    /** A project with {@code capacity} free spots, open to the given programs. */
+    public record Opening(Long projectId, int capacity, Set<Program> allowedPrograms) {}
+
+    private StudentProjectMatcher() {}
+
+    /**
+     * Computes a maximum assignment. Students are handed out in ascending id order and projects
+     * are visited in the order given, so the result is deterministic for the same input.
+     *
+     * @return projectId -> student ids to add to that project (projects with no new students are omitted)
+     */
+    public static Map<Long, List<Long>> match(List<Opening> openings, List<Candidate> candidates) {
+        Map<Program, ArrayDeque<Long>> pools = new EnumMap<>(Program.class);
+        candidates.stream()
+                .filter(c -> c.program() != null)
+                .sorted(Comparator.comparing(Candidate::studentId))
+                .forEach(c -> pools.computeIfAbsent(c.program(), p -> new ArrayDeque<>()).add(c.studentId()));
+
+        List<Opening> usable = openings.stream()
+                .filter(o -> o.capacity() > 0 && o.allowedPrograms() != null && !o.allowedPrograms().isEmpty())
+                .toList();
+        if (pools.isEmpty() || usable.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Program> programs = new ArrayList<>(pools.keySet());
+        int source = 0;
+        int firstProgram = 1;
+        int firstProject = firstProgram + programs.size();
+        int sink = firstProject + usable.size();
+
+        FlowNetwork network = new FlowNetwork(sink + 1);
+        for (int g = 0; g < programs.size(); g++) {
+            network.addEdge(source, firstProgram + g, pools.get(programs.get(g)).size());
+        }
+        // edge index of every program -> project edge, so the flow can be read back afterwards
+        int[][] groupEdges = new int[programs.size()][usable.size()];
+        for (int[] row : groupEdges) {
+            Arrays.fill(row, -1);
+        }
+        for (int p = 0; p < usable.size(); p++) {
+            Opening opening = usable.get(p);
+            network.addEdge(firstProject + p, sink, opening.capacity());
+            for (int g = 0; g < programs.size(); g++) {
+                if (opening.allowedPrograms().contains(programs.get(g))) {
+                    groupEdges[g][p] = network.addEdge(firstProgram + g, firstProject + p, opening.capacity());
+                }
+            }
+        }
+
+        network.maxFlow(source, sink);
+
+        Map<Long, List<Long>> result = new LinkedHashMap<>();
+        for (int p = 0; p < usable.size(); p++) {
+            for (int g = 0; g < programs.size(); g++) {
+                int edge = groupEdges[g][p];
+                if (edge < 0) continue;
+                int flow = network.flow(edge);
+                if (flow == 0) continue;
+                Iterator<Long> pool = pools.get(programs.get(g)).iterator();
+                List<Long> picked = result.computeIfAbsent(usable.get(p).projectId(), k -> new ArrayList<>());
+                for (int i = 0; i < flow; i++) {
+                    picked.add(pool.next());
+                    pool.remove();
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Dinic max-flow over an edge list; reverse edges sit at index ^ 1. */
+    private static final class FlowNetwork {
+        private final int nodes;
+        private final List<int[]> edges = new ArrayList<>(); // {to, capacity, originalCapacity}
+        private final List<List<Integer>> adjacency = new ArrayList<>();
+        private int[] level;
+        private int[] cursor;
+
+        FlowNetwork(int nodes) {
+            this.nodes = nodes;
+            for (int i = 0; i < nodes; i++) {
+                adjacency.add(new ArrayList<>());
+            }
+        }
+
+        int addEdge(int from, int to, int capacity) {
+            int index = edges.size();
+            edges.add(new int[]{to, capacity, capacity});
+            adjacency.get(from).add(index);
+            edges.add(new int[]{from, 0, 0});
+            adjacency.get(to).add(index + 1);
+            return index;
+        }
+
+        int flow(int edge) {
+            int[] e = edges.get(edge);
+            return e[2] - e[1];
+        }
+
+        int maxFlow(int source, int sink) {
+            int total = 0;
+            while (buildLevels(source, sink)) {
+                cursor = new int[nodes];
+                int pushed;
+                while ((pushed = push(source, sink, Integer.MAX_VALUE)) > 0) {
+                    total += pushed;
+                }
+            }
+            return total;
+        }
+
+        private boolean buildLevels(int source, int sink) {
+            level = new int[nodes];
+            Arrays.fill(level, -1);
+            level[source] = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(source);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int index : adjacency.get(node)) {
+                    int[] e = edges.get(index);
+                    if (e[1] > 0 && level[e[0]] < 0) {
+                        level[e[0]] = level[node] + 1;
+                        queue.add(e[0]);
+                    }
+                }
+            }
+            return level[sink] >= 0;
+        }
+
+        private int push(int node, int sink, int limit) {
+            if (node == sink) return limit;
+            List<Integer> out = adjacency.get(node);
+            for (; cursor[node] < out.size(); cursor[node]++) {
+                int index = out.get(cursor[node]);
+                int[] e = edges.get(index);
+                if (e[1] <= 0 || level[e[0]] != level[node] + 1) continue;
+                int pushed = push(e[0], sink, Math.min(limit, e[1]));
+                if (pushed > 0) {
+                    e[1] -= pushed;
+                    edges.get(index ^ 1)[1] += pushed;
+                    return pushed;
+                }
+            }
+            return 0;
+        }
+    }
+}
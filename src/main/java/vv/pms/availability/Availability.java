@@ -16,9 +16,13 @@ public class Availability {
     private String userType; // "STUDENT" or "PROFESSOR"
 
     // 5 Days (Mon-Fri) x 32 Time slots (15 mins, 8am-4pm)
-    // Stored as JSON string in DB, used as Boolean[][] in Java
-    @Convert(converter = MatrixConverter.class)
-    @Column(columnDefinition = "TEXT")
+    // Stored as a packed hex mask in DB (see AvailabilityMask)
+    @Convert(converter = AvailabilityMask.Converter.class)
+    @Column(name = "timeslots")
+    private AvailabilityMask mask;
+
+    // Boolean[][] view used by the availability form, rebuilt from the mask on demand
+    @Transient
     private Boolean[][] timeslots;
 
     public Availability() {}
@@ -26,7 +30,13 @@ public class Availability {
     public Availability(Long userId, String userType, Boolean[][] timeslots) {
         this.userId = userId;
         this.userType = userType;
-        this.timeslots = timeslots;
+        setTimeslots(timeslots);
+    }
+
+    public Availability(Long userId, String userType, AvailabilityMask mask) {
+        this.userId = userId;
+        this.userType = userType;
+        this.mask = mask;
     }
 
     public Long getId() { return id; }
@@ -34,10 +44,26 @@ public class Availability {
     public void setUserId(Long userId) { this.userId = userId; }
     public String getUserType() { return userType; }
     public void setUserType(String userType) { this.userType = userType; }
-    public Boolean[][] getTimeslots() { return timeslots; }
-    public void setTimeslots(Boolean[][] timeslots) { this.timeslots = timeslots; }
+    public AvailabilityMask getMask() { return mask; }
+
+    public void setMask(AvailabilityMask mask) {
+        this.mask = mask;
+        this.timeslots = null;
+    }
+
+    public Boolean[][] getTimeslots() {
+        if (timeslots == null && mask != null) {
+            timeslots = mask.toMatrix();
+        }
+        return timeslots;
+    }
+
+    public void setTimeslots(Boolean[][] timeslots) {
+        this.timeslots = timeslots;
+        this.mask = timeslots == null ? null : AvailabilityMask.of(timeslots);
+    }
 
-    // --- Converter for Database JSON storage ---
+    // --- Legacy JSON format, still read when migrating old rows ---
     @Converter
     public static class MatrixConverter implements AttributeConverter<Boolean[][], String> {
         private static final ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,172 @@
+package vv.pms.availability;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.util.Arrays;
+
+/**
+ * Immutable availability grid packed into one {@code long} per day: bit {@code t} of day {@code d}
+ * is set when slot {@code t} is free. Intersections of several grids are plain bitwise ANDs.
+ */
+public final class AvailabilityMask {
+
+    public static final int MAX_SLOTS_PER_DAY = Long.SIZE;
+
+    private final int slotsPerDay;
+    private final long[] days;
+
+    private AvailabilityMask(int slotsPerDay, long[] days) {
+        if (slotsPerDay < 0 || slotsPerDay > MAX_SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("At most " + MAX_SLOTS_PER_DAY + " slots per day are supported");
+        }
+        this.slotsPerDay = slotsPerDay;
+        this.days = days;
+    }
+
+    public static AvailabilityMask empty(int dayCount, int slotsPerDay) {
+        return new AvailabilityMask(slotsPerDay, new long[dayCount]);
+    }
+
+    public static AvailabilityMask full(int dayCount, int slotsPerDay) {
+        long[] days = new long[dayCount];
+        Arrays.fill(days, lowBits(slotsPerDay));
+        return new AvailabilityMask(slotsPerDay, days);
+    }
+
+    /** Packs a Boolean matrix; {@code null} rows or cells count as unavailable. */
+    public static AvailabilityMask of(Boolean[][] matrix) {
+        int slots = 0;
+        for (Boolean[] row : matrix) {
+            if (row != null) slots = Math.max(slots, row.length);
+        }
+        long[] days = new long[matrix.length];
+        for (int d = 0; d < matrix.length; d++) {
+            Boolean[] row = matrix[d];
+            if (row == null) continue;
+            for (int t = 0; t < row.length; t++) {
+                if (Boolean.TRUE.equals(row[t])) {
+                    days[d] |= 1L << t;
+                }
+            }
+        }
+        return new AvailabilityMask(slots, days);
+    }
+
+    public int dayCount() {
+        return days.length;
+    }
+
+    public int slotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /** Bits of the given day, or 0 for a day outside the grid. */
+    public long day(int dayIndex) {
+        return dayIndex >= 0 && dayIndex < days.length ? days[dayIndex] : 0L;
+    }
+
+    public boolean isAvailable(int dayIndex, int slotIndex) {
+        return slotIndex >= 0 && slotIndex < slotsPerDay && (day(dayIndex) & (1L << slotIndex)) != 0;
+    }
+
+    public Boolean[][] toMatrix() {
+        Boolean[][] matrix = new Boolean[days.length][slotsPerDay];
+        for (int d = 0; d < days.length; d++) {
+            for (int t = 0; t < slotsPerDay; t++) {
+                matrix[d][t] = (days[d] & (1L << t)) != 0;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Compact text form: two hex digits for the day count, two for the slots per day,
+     * then one fixed-width hex word per day (8 characters for a 32-slot day).
+     */
+    public String toHex() {
+        int width = wordWidth(slotsPerDay);
+        StringBuilder sb = new StringBuilder(4 + days.length * width);
+        appendHex(sb, days.length, 2);
+        appendHex(sb, slotsPerDay, 2);
+        for (long day : days) {
+            appendHex(sb, day, width);
+        }
+        return sb.toString();
+    }
+
+    public static AvailabilityMask fromHex(String hex) {
+        if (hex == null || hex.length() < 4) {
+            throw new IllegalArgumentException("Invalid availability mask: " + hex);
+        }
+        int dayCount = Integer.parseInt(hex, 0, 2, 16);
+        int slots = Integer.parseInt(hex, 2, 4, 16);
+        int width = wordWidth(slots);
+        if (hex.length() != 4 + dayCount * width) {
+            throw new IllegalArgumentException("Invalid availability mask: " + hex);
+        }
+        long[] days = new long[dayCount];
+        for (int d = 0; d < dayCount; d++) {
+            int start = 4 + d * width;
+            days[d] = width == 0 ? 0L : Long.parseUnsignedLong(hex, start, start + width, 16);
+        }
+        return new AvailabilityMask(slots, days);
+    }
+
+    private static long lowBits(int count) {
+        return count >= Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    private static int wordWidth(int slots) {
+        return (slots + 3) / 4;
+    }
+
+    private static void appendHex(StringBuilder sb, long value, int width) {
+        for (int shift = (width - 1) * 4; shift >= 0; shift -= 4) {
+            sb.append(Character.forDigit((int) ((value >>> shift) & 0xF), 16));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AvailabilityMask other)) return false;
+        return slotsPerDay == other.slotsPerDay && Arrays.equals(days, other.days);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * slotsPerDay + Arrays.hashCode(days);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    // --- Converter for Database hex storage ---
+    @jakarta.persistence.Converter
+    public static class Converter implements AttributeConverter<AvailabilityMask, String> {
+        private static final Availability.MatrixConverter LEGACY = new Availability.MatrixConverter();
+
+        @Override
+        public String convertToDatabaseColumn(AvailabilityMask attribute) {
+            return attribute == null ? null : attribute.toHex();
+        }
+
+        @Override
+        public AvailabilityMask convertToEntityAttribute(String dbData) {
+            if (dbData == null) return null;
+            if (isLegacy(dbData)) {
+                Boolean[][] matrix = LEGACY.convertToEntityAttribute(dbData);
+                return matrix == null ? null : AvailabilityMask.of(matrix);
+            }
+            return AvailabilityMask.fromHex(dbData);
+        }
+
+        /** Rows written before the hex format stored the matrix as a JSON array. */
+        public static boolean isLegacy(String dbData) {
+            String trimmed = dbData.trim();
+            return trimmed.startsWith("[") || trimmed.equals("null");
+        }
+    }
+}
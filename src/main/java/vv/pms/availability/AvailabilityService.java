@@ -4,6 +4,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vv.pms.availability.internal.AvailabilityRepository;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 @Transactional
 public class AvailabilityService {
@@ -25,15 +29,27 @@ public class AvailabilityService {
         repository.save(availability);
     }
 
-    private Availability createDefault(Long userId, String userType) {
-        Boolean[][] matrix = new Boolean[5][32];
-        for(int i=0; i<5; i++){
-            for(int j=0; j<32; j++){
-                matrix[i][j] = false;
+    /**
+     * Availability masks of many users in one query. Users without a saved grid map to an empty
+     * (fully unavailable) mask, matching what {@link #getAvailability} would create for them.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, AvailabilityMask> findMasks(Set<Long> userIds, String userType) {
+        Map<Long, AvailabilityMask> masks = new HashMap<>();
+        if (userIds.isEmpty()) return masks;
+        for (Availability availability : repository.findByUserTypeAndUserIdIn(userType, userIds)) {
+            if (availability.getMask() != null) {
+                masks.put(availability.getUserId(), availability.getMask());
             }
         }
+        for (Long userId : userIds) {
+            masks.putIfAbsent(userId, AvailabilityMask.empty(5, 32));
+        }
+        return masks;
+    }
 
-        Availability newAvail = new Availability(userId, userType, matrix);
+    private Availability createDefault(Long userId, String userType) {
+        Availability newAvail = new Availability(userId, userType, AvailabilityMask.empty(5, 32));
         return repository.save(newAvail);
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package vv.pms.availability;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Rewrites availability columns that still hold the old JSON matrix into the hex mask format.
+ * Shared by every module that stores an {@link AvailabilityMask} column.
+ */
+public final class LegacyAvailabilityMigration {
+
+    private static final AvailabilityMask.Converter CONVERTER = new AvailabilityMask.Converter();
+
+    private LegacyAvailabilityMigration() {}
+
+    private record LegacyRow(long id, String value) {}
+
+    /**
+     * Converts every legacy row of {@code table.column} in place.
+     *
+     * @return the number of rows rewritten
+     */
+    public static int migrate(JdbcTemplate jdbc, String table, String column) {
+        List<LegacyRow> rows = jdbc.query(
+                "SELECT id, " + column + " FROM " + table + " WHERE " + column + " LIKE '[%'",
+                (rs, i) -> new LegacyRow(rs.getLong(1), rs.getString(2)));
+
+        int migrated = 0;
+        for (LegacyRow row : rows) {
+            AvailabilityMask mask = CONVERTER.convertToEntityAttribute(row.value());
+            migrated += jdbc.update("UPDATE " + table + " SET " + column + " = ? WHERE id = ?",
+                    CONVERTER.convertToDatabaseColumn(mask), row.id());
+        }
+        return migrated;
+    }
+}
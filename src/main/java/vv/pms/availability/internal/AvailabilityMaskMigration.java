@@ -0,0 +1,32 @@
+package vv.pms.availability.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import vv.pms.availability.LegacyAvailabilityMigration;
+
+/**
+ * Converts availability rows saved in the old JSON format to hex masks at startup.
+ */
+@Component
+class AvailabilityMaskMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityMaskMigration.class);
+
+    private final JdbcTemplate jdbc;
+
+    AvailabilityMaskMigration(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int migrated = LegacyAvailabilityMigration.migrate(jdbc, "availability", "timeslots");
+        if (migrated > 0) {
+            log.info("Migrated {} availability rows to the hex mask format", migrated);
+        }
+    }
+}
@@ -3,8 +3,12 @@ package vv.pms.availability.internal;
 import org.springframework.data.repository.CrudRepository;
 import vv.pms.availability.Availability;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AvailabilityRepository extends CrudRepository<Availability, Long> {
     Optional<Availability> findByUserIdAndUserType(Long userId, String userType);
+
+    List<Availability> findByUserTypeAndUserIdIn(String userType, Collection<Long> userIds);
 }
\ No newline at end of file
@@ -0,0 +1,254 @@
+package vv.pms.coordinator;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vv.pms.coordinator.internal.RecordReader;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.ProjectService;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Coordinator bulk import of students, professors and projects from a CSV or NDJSON upload.
+ *
+ * The upload is read one record at a time. Each record is checked against its entity's constraints and
+ * against hash sets of the existing unique keys, which are loaded once per import, so there is no
+ * uniqueness query per row. Accepted records are saved {@value #CHUNK_SIZE} at a time, each chunk in its
+ * own transaction with the persistence context cleared afterwards, so memory does not grow with the file.
+ * If a chunk fails to save (say a signup took one of its emails meanwhile), its rows are reported, their
+ * keys are freed for later rows, and the import carries on with the next chunk.
+ */
+@Service
+public class BulkImportService {
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[;|]");
+
+    private final StudentService studentService;
+    private final ProfessorService professorService;
+    private final ProjectService projectService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public BulkImportService(StudentService studentService,
+                             ProfessorService professorService,
+                             ProjectService projectService,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager) {
+        this.studentService = studentService;
+        this.professorService = professorService;
+        this.projectService = projectService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** Fields: {@code name}, {@code studentId}, {@code email}, {@code program}. */
+    public ImportReport importStudents(InputStream in, ImportFormat format) throws IOException {
+        Set<String> studentNumbers = studentService.findAllStudentNumbers();
+        Set<String> emails = studentService.findAllEmails();
+        return run(in, format, (fields, chunk) -> {
+            Student student = new Student(
+                    required(fields, "name"),
+                    required(fields, "studentid"),
+                    required(fields, "email"),
+                    program(required(fields, "program")));
+            validate(student);
+            if (studentNumbers.contains(student.getStudentId())) {
+                throw new IllegalArgumentException("Student ID " + student.getStudentId() + " already exists.");
+            }
+            if (emails.contains(student.getEmail())) {
+                throw new IllegalArgumentException("Email " + student.getEmail() + " already exists.");
+            }
+            chunk.reserve(studentNumbers, student.getStudentId());
+            chunk.reserve(emails, student.getEmail());
+            return student;
+        }, studentService::addStudents);
+    }
+
+    /** Fields: {@code name}, {@code email}. */
+    public ImportReport importProfessors(InputStream in, ImportFormat format) throws IOException {
+        Set<String> emails = professorService.findAllEmails();
+        return run(in, format, (fields, chunk) -> {
+            Professor professor = new Professor(required(fields, "name"), required(fields, "email"));
+            validate(professor);
+            if (!chunk.reserve(emails, professor.getEmail())) {
+                throw new IllegalArgumentException("Professor with email " + professor.getEmail() + " already exists.");
+            }
+            return professor;
+        }, professorService::addProfessors);
+    }
+
+    /**
+     * Fields: {@code title}, {@code description}, {@code programs} (separated by {@code ;} or {@code |}),
+     * {@code requiredStudents} and {@code professorEmail}, the owner.
+     */
+    public ImportReport importProjects(InputStream in, ImportFormat format) throws IOException {
+        Map<String, Long> professorIds = professorService.findAllProfessors().stream()
+                .collect(Collectors.toMap(p -> p.getEmail().toLowerCase(Locale.ROOT), Professor::getId, (a, b) -> a));
+        return run(in, format, (fields, chunk) -> {
+            String title = required(fields, "title");
+            String description = required(fields, "description");
+            Set<Program> programs = EnumSet.noneOf(Program.class);
+            for (String name : LIST_SEPARATOR.split(required(fields, "programs"))) {
+                if (!name.isBlank()) programs.add(program(name));
+            }
+            if (programs.isEmpty()) {
+                throw new IllegalArgumentException("At least one program is required.");
+            }
+            int requiredStudents;
+            try {
+                requiredStudents = Integer.parseInt(required(fields, "requiredstudents"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("requiredStudents must be a whole number.");
+            }
+            if (requiredStudents < 1) {
+                throw new IllegalArgumentException("requiredStudents must be at least 1.");
+            }
+            String email = required(fields, "professoremail");
+            Long professorId = professorIds.get(email.toLowerCase(Locale.ROOT));
+            if (professorId == null) {
+                throw new IllegalArgumentException("No professor with email " + email + ".");
+            }
+            return new ProjectService.NewProject(title, description, programs, requiredStudents, professorId);
+        }, projectService::addProjects);
+    }
+
+    private <T> ImportReport run(InputStream in, ImportFormat format,
+                                 BiFunction<Map<String, String>, Chunk<T>, T> mapper, Consumer<List<T>> writer) throws IOException {
+        Chunk<T> chunk = new Chunk<>(writer);
+        Consumer<RecordReader.Row> sink = row -> {
+            if (row.error() != null) {
+                chunk.reject(row.line(), row.error());
+                return;
+            }
+            try {
+                chunk.add(row.line(), mapper.apply(row.fields(), chunk));
+            } catch (IllegalArgumentException e) {
+                chunk.reject(row.line(), e.getMessage());
+            }
+        };
+        switch (format) {
+            case CSV -> RecordReader.readCsv(in, sink);
+            case NDJSON -> RecordReader.readNdjson(in, sink);
+        }
+        chunk.save();
+        return new ImportReport(chunk.imported, chunk.rejected, chunk.errors);
+    }
+
+    /** Records waiting to be saved, plus the running totals of the import. */
+    private final class Chunk<T> {
+
+        private final Consumer<List<T>> writer;
+        private final List<T> items = new ArrayList<>(CHUNK_SIZE);
+        private final List<Long> lines = new ArrayList<>(CHUNK_SIZE);
+        private final List<Runnable> releases = new ArrayList<>();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private int imported;
+        private int rejected;
+
+        Chunk(Consumer<List<T>> writer) {
+            this.writer = writer;
+        }
+
+        void add(long line, T item) {
+            items.add(item);
+            lines.add(line);
+            if (items.size() == CHUNK_SIZE) {
+                save();
+            }
+        }
+
+        /**
+         * Adds a unique key for a record about to join this chunk; it is taken out again if the chunk
+         * fails to save, so a later record may still use it. Returns false if the key is already taken.
+         */
+        boolean reserve(Set<String> keys, String key) {
+            if (!keys.add(key)) {
+                return false;
+            }
+            releases.add(() -> keys.remove(key));
+            return true;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        void save() {
+            if (items.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    writer.accept(List.copyOf(items));
+                    em.flush();
+                    // the request may keep one persistence context open across chunks
+                    em.clear();
+                });
+                imported += items.size();
+            } catch (RuntimeException e) {
+                String reason = "Not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                lines.forEach(line -> reject(line, reason));
+                releases.forEach(Runnable::run);
+            }
+            items.clear();
+            lines.clear();
+            releases.clear();
+        }
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name + ".");
+        }
+        return value.trim();
+    }
+
+    private static Program program(String value) {
+        try {
+            return Program.valueOf(value.trim().toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown program " + value.trim() + ".");
+        }
+    }
+
+    private void validate(Object entity) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package vv.pms.coordinator;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only queries behind the coordinator dashboard. The student module filters and pages in the
+ * database; the allocation and project modules then resolve the projects of that page's students with
+ * one query each, so the page cost does not depend on the number of students.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CoordinatorDashboardService {
+
+    public enum AssignmentStatus { ALL, ASSIGNED, UNASSIGNED }
+
+    private final StudentService studentService;
+    private final AllocationService allocationService;
+    private final ProjectService projectService;
+
+    public CoordinatorDashboardService(StudentService studentService,
+                                       AllocationService allocationService,
+                                       ProjectService projectService) {
+        this.studentService = studentService;
+        this.allocationService = allocationService;
+        this.projectService = projectService;
+    }
+
+    /**
+     * @param status    assignment filter, as per the allocation table
+     * @param program   optional program filter
+     * @param projectId optional filter on the assigned project
+     */
+    public Page<StudentDashboardRow> findStudents(AssignmentStatus status, Program program, Long projectId, Pageable pageable) {
+        // a student's flag is kept in step with team membership, so the status filter needs no join
+        Boolean hasProject = switch (status) {
+            case ALL -> null;
+            case ASSIGNED -> true;
+            case UNASSIGNED -> false;
+        };
+        Set<Long> team = projectId == null ? null : new HashSet<>(allocationService.findStudentsByProjectId(projectId));
+        Page<Student> students = studentService.findStudents(hasProject, program, team, pageable);
+
+        Map<Long, Long> projectIds = allocationService.mapStudentToProjectIds(students.stream()
+                .map(Student::getId)
+                .collect(Collectors.toSet()));
+        Map<Long, Project> projects = projectService.findProjectsByIds(new HashSet<>(projectIds.values())).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+        return students.map(s -> {
+            Long assigned = projectIds.get(s.getId());
+            Project project = assigned == null ? null : projects.get(assigned);
+            return new StudentDashboardRow(s.getId(), s.getName(), s.getStudentId(), s.getEmail(), s.getProgram(),
+                    assigned, project == null ? null : project.getTitle());
+        });
+    }
+}
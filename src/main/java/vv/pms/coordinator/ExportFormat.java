@@ -0,0 +1,35 @@
+package vv.pms.coordinator;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** Output formats offered by {@link ExportService}. */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    JSON("application/json", "json");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static Optional<ExportFormat> of(String name) {
+        if (name == null) return Optional.empty();
+        try {
+            return Optional.of(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
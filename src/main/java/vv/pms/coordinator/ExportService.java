@@ -0,0 +1,230 @@
+package vv.pms.coordinator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.ProjectAllocation;
+import vv.pms.coordinator.internal.RecordWriter;
+import vv.pms.presentation.PresentationService;
+import vv.pms.presentation.PresentationSlot;
+import vv.pms.presentation.Room;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.report.ReportService;
+import vv.pms.report.ReportSubmission;
+import vv.pms.report.SystemConfigService;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Term exports for coordinators: allocations, the presentation schedule and report submission status.
+ *
+ * Each export is composed from the owning modules' services. Allocations, projects, professors and
+ * slots are loaded once and joined through id-keyed maps; students and reports, the bulk of a term, are
+ * looked up {@code pms.exports.batch-size} projects at a time and written before the next batch is read.
+ * There is deliberately no surrounding transaction: each lookup runs in its service's own read-only
+ * one, so a written batch leaves the persistence context and memory does not grow with the term.
+ */
+@Service
+public class ExportService {
+
+    private static final Comparator<Student> BY_NAME =
+            Comparator.comparing(Student::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Student::getId);
+
+    private final AllocationService allocationService;
+    private final ProjectService projectService;
+    private final ProfessorService professorService;
+    private final StudentService studentService;
+    private final PresentationService presentationService;
+    private final ReportService reportService;
+    private final SystemConfigService systemConfigService;
+    private final int batchSize;
+
+    public ExportService(AllocationService allocationService,
+                         ProjectService projectService,
+                         ProfessorService professorService,
+                         StudentService studentService,
+                         PresentationService presentationService,
+                         ReportService reportService,
+                         SystemConfigService systemConfigService,
+                         @Value("${pms.exports.batch-size:500}") int batchSize) {
+        this.allocationService = allocationService;
+        this.projectService = projectService;
+        this.professorService = professorService;
+        this.studentService = studentService;
+        this.presentationService = presentationService;
+        this.reportService = reportService;
+        this.systemConfigService = systemConfigService;
+        this.batchSize = batchSize;
+    }
+
+    /** One record per assigned student; projects without students get a single record with no student. */
+    public void exportAllocations(ExportFormat format, OutputStream out) throws IOException {
+        RecordWriter writer = writer(format, out, List.of(
+                "projectId", "projectTitle", "professorId", "professorName",
+                "studentId", "studentNumber", "studentName", "studentEmail"));
+        Term term = loadTerm();
+        for (List<ProjectAllocation> batch : batches(term.allocations())) {
+            Map<Long, Student> students = studentService.findByIds(studentIds(batch));
+            for (ProjectAllocation allocation : batch) {
+                List<Student> team = team(allocation, students);
+                if (team.isEmpty()) {
+                    writer.write(allocation.getProjectId(), term.titleOf(allocation), allocation.getProfessorId(),
+                            term.professorNameOf(allocation), null, null, null, null);
+                }
+                for (Student s : team) {
+                    writer.write(allocation.getProjectId(), term.titleOf(allocation), allocation.getProfessorId(),
+                            term.professorNameOf(allocation), s.getId(), s.getStudentId(), s.getName(), s.getEmail());
+                }
+            }
+        }
+        writer.finish();
+    }
+
+    /** One record per scheduled presentation, in timetable order. */
+    public void exportPresentations(ExportFormat format, OutputStream out) throws IOException {
+        RecordWriter writer = writer(format, out, List.of(
+                "projectId", "projectTitle", "professorName", "studentNames", "room", "slot"));
+        Map<Long, String> rooms = presentationService.getAllRooms().stream()
+                .collect(Collectors.toMap(Room::getId, Room::getName));
+        List<PresentationSlot> slots = presentationService.findAllSlots();
+        Term term = loadTerm();
+        Map<Long, ProjectAllocation> allocations = term.allocations().stream()
+                .collect(Collectors.toMap(ProjectAllocation::getProjectId, Function.identity()));
+        Map<Long, Project> projects = projectService.findProjectsByIds(slots.stream()
+                        .map(PresentationSlot::getProjectId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+        List<PresentationSlot> timetable = slots.stream()
+                .filter(slot -> projects.containsKey(slot.getProjectId()))
+                .sorted(Comparator.comparingInt(PresentationSlot::getDayIndex)
+                        .thenComparingInt(PresentationSlot::getStartBinIndex)
+                        .thenComparing(slot -> rooms.get(slot.getRoomId()), Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(PresentationSlot::getProjectId))
+                .toList();
+        for (List<PresentationSlot> batch : batches(timetable)) {
+            List<ProjectAllocation> teams = batch.stream()
+                    .map(slot -> allocations.get(slot.getProjectId()))
+                    .filter(Objects::nonNull)
+                    .toList();
+            Map<Long, Student> students = studentService.findByIds(studentIds(teams));
+            for (PresentationSlot slot : batch) {
+                ProjectAllocation allocation = allocations.get(slot.getProjectId());
+                String studentNames = allocation == null ? "" : team(allocation, students).stream()
+                        .map(Student::getName)
+                        .collect(Collectors.joining(", "));
+                writer.write(slot.getProjectId(), projects.get(slot.getProjectId()).getTitle(),
+                        allocation == null ? null : term.professorNameOf(allocation), studentNames,
+                        rooms.get(slot.getRoomId()),
+                        PresentationService.formatSlotLabel(slot.getDayIndex(), slot.getStartBinIndex(), slot.getDurationBins()));
+            }
+        }
+        writer.finish();
+    }
+
+    /**
+     * One record per allocated project with its latest report, if any. {@code late} is set when that
+     * report came in after the current deadline.
+     */
+    public void exportReportStatus(ExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime deadline = systemConfigService.getReportDeadline().orElse(null);
+        RecordWriter writer = writer(format, out, List.of(
+                "projectId", "projectTitle", "professorName", "submitted", "filename", "submittedAt", "submittedBy", "late"));
+        Term term = loadTerm();
+        for (List<ProjectAllocation> batch : batches(term.allocations())) {
+            Map<Long, ReportSubmission> reports = reportService.getLatestReports(batch.stream()
+                    .map(ProjectAllocation::getProjectId)
+                    .collect(Collectors.toSet()));
+            Map<Long, Student> submitters = studentService.findByIds(reports.values().stream()
+                    .map(ReportSubmission::getSubmittedByStudentId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+            for (ProjectAllocation allocation : batch) {
+                ReportSubmission report = reports.get(allocation.getProjectId());
+                LocalDateTime submittedAt = report == null ? null : report.getSubmittedAt();
+                Student submitter = report == null ? null : submitters.get(report.getSubmittedByStudentId());
+                writer.write(allocation.getProjectId(), term.titleOf(allocation), term.professorNameOf(allocation),
+                        submittedAt != null, report == null ? null : report.getFilename(), submittedAt,
+                        submitter == null ? null : submitter.getName(),
+                        submittedAt != null && deadline != null && submittedAt.isAfter(deadline));
+            }
+        }
+        writer.finish();
+    }
+
+    /** Allocations of existing projects in project title order, with the projects and professors they name. */
+    private record Term(List<ProjectAllocation> allocations, Map<Long, Project> projects, Map<Long, Professor> professors) {
+
+        String titleOf(ProjectAllocation allocation) {
+            return projects.get(allocation.getProjectId()).getTitle();
+        }
+
+        String professorNameOf(ProjectAllocation allocation) {
+            Professor professor = professors.get(allocation.getProfessorId());
+            return professor == null ? null : professor.getName();
+        }
+    }
+
+    private Term loadTerm() {
+        List<ProjectAllocation> allocations = allocationService.findAllAllocations();
+        Map<Long, Project> projects = projectService.findProjectsByIds(allocations.stream()
+                        .map(ProjectAllocation::getProjectId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, Professor> professors = professorService.findByIds(allocations.stream()
+                .map(ProjectAllocation::getProfessorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<ProjectAllocation> ordered = allocations.stream()
+                .filter(a -> projects.containsKey(a.getProjectId()))
+                .sorted(Comparator.comparing((ProjectAllocation a) -> projects.get(a.getProjectId()).getTitle())
+                        .thenComparing(ProjectAllocation::getProjectId))
+                .toList();
+        return new Term(ordered, projects, professors);
+    }
+
+    private <T> List<List<T>> batches(List<T> items) {
+        return IntStream.range(0, (items.size() + batchSize - 1) / batchSize)
+                .mapToObj(i -> items.subList(i * batchSize, Math.min((i + 1) * batchSize, items.size())))
+                .toList();
+    }
+
+    private static Set<Long> studentIds(Collection<ProjectAllocation> allocations) {
+        return allocations.stream()
+                .flatMap(a -> a.getAssignedStudentIds().stream())
+                .collect(Collectors.toSet());
+    }
+
+    /** The allocation's students that still exist, by name. */
+    private static List<Student> team(ProjectAllocation allocation, Map<Long, Student> students) {
+        return allocation.getAssignedStudentIds().stream()
+                .map(students::get)
+                .filter(Objects::nonNull)
+                .sorted(BY_NAME)
+                .toList();
+    }
+
+    private static RecordWriter writer(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        return switch (format) {
+            case CSV -> RecordWriter.csv(out, columns);
+            case JSON -> RecordWriter.json(out, columns);
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package vv.pms.coordinator;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/** Upload formats accepted by {@link BulkImportService}. */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /** Guesses the format from a content type or, failing that, a file name. */
+    public static Optional<ImportFormat> detect(String contentType, String filename) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("text/csv")) return Optional.of(CSV);
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) return Optional.of(NDJSON);
+
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return Optional.of(CSV);
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return Optional.of(NDJSON);
+        return Optional.empty();
+    }
+}
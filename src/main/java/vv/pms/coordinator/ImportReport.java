@@ -0,0 +1,14 @@
+package vv.pms.coordinator;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many records were saved and rejected, and why each rejected record was
+ * turned away. Only the first {@value BulkImportService#MAX_REPORTED_ERRORS} errors are listed, so a file
+ * of bad rows cannot blow up the response.
+ */
+public record ImportReport(int imported, int rejected, List<RowError> errors) {
+
+    /** A rejected record and the line of the upload it starts on. */
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,17 @@
+package vv.pms.coordinator;
+
+import vv.pms.project.Program;
+
+/**
+ * A student as shown on the coordinator dashboard, with the assigned project already joined in.
+ * {@code projectId} and {@code projectTitle} are null for unassigned students.
+ */
+public record StudentDashboardRow(
+        Long id,
+        String name,
+        String studentId,
+        String email,
+        Program program,
+        Long projectId,
+        String projectTitle
+) {}
@@ -0,0 +1,179 @@
+package vv.pms.coordinator.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the records of a CSV or NDJSON upload one at a time, so an import holds only the current
+ * record in memory however large the file is.
+ *
+ * CSV input starts with a header row naming the columns; fields may be quoted, with {@code ""} for a
+ * literal quote, and quoted fields may span lines. NDJSON input has one JSON object per line; array
+ * values are joined with {@code ;} so they read like a multi-valued CSV cell. In both formats blank
+ * lines are skipped and field names are lower-cased with anything but letters and digits dropped, so
+ * {@code studentId}, {@code student_id} and {@code Student ID} name the same field.
+ */
+public final class RecordReader {
+
+    /**
+     * One record and the line it starts on. {@code error} is set instead of {@code fields} when the
+     * record could not be parsed.
+     */
+    public record Row(long line, Map<String, String> fields, String error) {}
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]");
+
+    private RecordReader() {}
+
+    public static void readCsv(InputStream in, Consumer<Row> sink) throws IOException {
+        CsvLexer lexer = new CsvLexer(reader(in));
+        List<String> header = null;
+        List<String> values;
+        while ((values = lexer.next()) != null) {
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (header == null) {
+                header = values.stream().map(RecordReader::fieldName).toList();
+                continue;
+            }
+            if (values.size() != header.size()) {
+                sink.accept(new Row(lexer.recordLine, null,
+                        "Expected " + header.size() + " fields but found " + values.size() + "."));
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            sink.accept(new Row(lexer.recordLine, fields, null));
+        }
+    }
+
+    public static void readNdjson(InputStream in, Consumer<Row> sink) throws IOException {
+        BufferedReader reader = reader(in);
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = JSON.readTree(text);
+            } catch (JsonProcessingException e) {
+                sink.accept(new Row(line, null, "Not valid JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (!node.isObject()) {
+                sink.accept(new Row(line, null, "Expected a JSON object."));
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            node.properties().forEach(e -> fields.put(fieldName(e.getKey()), text(e.getValue())));
+            sink.accept(new Row(line, fields, null));
+        }
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static String fieldName(String name) {
+        // also drops a UTF-8 BOM, which would otherwise stick to the first column name
+        return NON_ALPHANUMERIC.matcher(name).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static String text(JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (value.isArray()) {
+            List<String> parts = new ArrayList<>();
+            value.forEach(v -> parts.add(v.asText()));
+            return String.join(";", parts);
+        }
+        return value.asText();
+    }
+
+    /** Splits CSV text into records, tracking the line each record starts on. */
+    private static final class CsvLexer {
+
+        private final BufferedReader reader;
+        private long line = 1;
+        long recordLine;
+
+        CsvLexer(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        values.add(field.toString());
+                        return values; // unterminated quote; keep what we have
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    line++;
+                    values.add(trimCarriageReturn(field));
+                    return values;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+
+        private static String trimCarriageReturn(StringBuilder field) {
+            int end = field.length();
+            if (end > 0 && field.charAt(end - 1) == '\r') {
+                end--;
+            }
+            return field.substring(0, end);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package vv.pms.coordinator.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export records straight to an output stream as CSV (with a header row) or as a JSON array of
+ * objects keyed by column name. Nothing is buffered beyond the underlying stream's own buffer, so an
+ * export of any size runs in constant memory. {@link #finish()} must be called to complete the output.
+ */
+public abstract sealed class RecordWriter {
+
+    protected final List<String> columns;
+
+    private RecordWriter(List<String> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    public static RecordWriter csv(OutputStream out, List<String> columns) throws IOException {
+        return new Csv(out, columns);
+    }
+
+    public static RecordWriter json(OutputStream out, List<String> columns) throws IOException {
+        return new Json(out, columns);
+    }
+
+    /** Writes one record; values line up with the columns and may be null. */
+    public abstract void write(Object... values) throws IOException;
+
+    /** Completes the output and flushes it, leaving the stream open. */
+    public abstract void finish() throws IOException;
+
+    private static final class Csv extends RecordWriter {
+
+        private final Writer out;
+
+        Csv(OutputStream stream, List<String> columns) throws IOException {
+            super(columns);
+            this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            write(columns.toArray());
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                if (values[i] != null) out.write(escape(values[i].toString()));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class Json extends RecordWriter {
+
+        private static final JsonMapper MAPPER = JsonMapper.builder()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .build();
+
+        private final JsonGenerator out;
+
+        Json(OutputStream stream, List<String> columns) throws IOException {
+            super(columns);
+            this.out = MAPPER.createGenerator(stream);
+            out.writeStartArray();
+        }
+
+        @Override
+        public void write(Object... values) throws IOException {
+            out.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                out.writeFieldName(columns.get(i));
+                Object value = values[i];
+                if (value == null) {
+                    out.writeNull();
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    out.writeObject(value);
+                } else {
+                    // dates and the like in their ISO form, as in the CSV
+                    out.writeString(value.toString());
+                }
+            }
+            out.writeEndObject();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.writeEndArray();
+            out.close();
+        }
+    }
+}
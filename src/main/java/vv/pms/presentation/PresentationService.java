@@ -1,13 +1,16 @@
 package vv.pms.presentation;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import vv.pms.availability.Availability;
+import vv.pms.availability.AvailabilityMask;
 import vv.pms.availability.AvailabilityService;
 import vv.pms.allocation.AllocationService;
 import vv.pms.allocation.ProjectAllocation;
 import vv.pms.presentation.internal.PresentationSlotRepository;
 import vv.pms.presentation.internal.RoomRepository;
+import vv.pms.presentation.internal.SlotFinder;
+import vv.pms.presentation.internal.TimetableSolver;
 import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.Project;
@@ -29,6 +32,7 @@ public class PresentationService {
     private final ProjectService projectService;
     private final ProfessorService professorService;
     private final StudentService studentService;
+    private final long schedulerTimeBudgetMillis;
 
     // 5 days, 16 bins of 30 minutes (8:00–16:00)
     private static final int DAYS = 5;
@@ -41,6 +45,11 @@ public class PresentationService {
 
     public record SlotOption(int dayIndex, int startBinIndex, String label) {}
 
+    public record UnschedulableProject(Long projectId, String projectTitle, String reason) {}
+
+    /** Outcome of {@link #runBestEffortAllocation()}; {@code timedOut} means a better timetable may exist. */
+    public record ScheduleReport(int scheduled, List<UnschedulableProject> unschedulable, boolean timedOut) {}
+
     public record PresentationRow(
             Long projectId,
             String projectTitle,
@@ -56,7 +65,8 @@ public class PresentationService {
                                AllocationService allocationService,
                                ProjectService projectService,
                                ProfessorService professorService,
-                               StudentService studentService) {
+                               StudentService studentService,
+                               @Value("${pms.presentations.scheduler.time-budget-ms:2000}") long schedulerTimeBudgetMillis) {
         this.roomRepository = roomRepository;
         this.slotRepository = slotRepository;
         this.availabilityService = availabilityService;
@@ -64,6 +74,7 @@ public class PresentationService {
         this.projectService = projectService;
         this.professorService = professorService;
         this.studentService = studentService;
+        this.schedulerTimeBudgetMillis = schedulerTimeBudgetMillis;
     }
 
     // -----------------------------
@@ -77,6 +88,11 @@ public class PresentationService {
     // -----------------------------
     // Presentation assignment
     // -----------------------------
+    @Transactional(readOnly = true)
+    public List<PresentationSlot> findAllSlots() {
+        return slotRepository.findAll();
+    }
+
     public PresentationSlot assignPresentation(Long projectId,
                                                Long roomId,
                                                int dayIndex,
@@ -125,121 +141,106 @@ public class PresentationService {
     // -----------------------------
     @Transactional(readOnly = true)
     public List<SlotOption> getAvailableSlots(Long projectId, Long roomId) {
-        ProjectAllocation allocation = allocationService.findAllocationByProjectId(projectId).orElse(null);
-        if (allocation == null || allocation.getAssignedStudentIds().isEmpty()) {
-            return List.of();
-        }
-
-        Room room = roomRepository.findById(roomId).orElse(null);
-        if (room == null) {
-            return List.of();
-        }
-        Boolean[][] roomAvail = normalize(room.getAvailability());
+        return getAvailableSlots(Map.of(projectId, roomId)).getOrDefault(projectId, List.of());
+    }
 
-        Long professorId = allocation.getProfessorId();
-        Professor prof = professorService.findProfessorById(professorId).orElse(null);
-        if (prof == null) {
-            return List.of();
-        }
-        Availability profAvailEntity = availabilityService.getAvailability(professorId, "PROFESSOR");
-        Boolean[][] profAvail = normalize(profAvailEntity.getTimeslots());
-
-        List<Long> studentIds = allocation.getAssignedStudentIds();
-        List<Boolean[][]> studentMatrices = new ArrayList<>();
-        for (Long sid : studentIds) {
-            Student s = studentService.findStudentById(sid).orElse(null);
-            if (s == null) continue;
-            Availability sAvailEntity = availabilityService.getAvailability(sid, "STUDENT");
-            studentMatrices.add(normalize(sAvailEntity.getTimeslots()));
+    /**
+     * Slot options for many (project, room) pairs at once. Allocations, rooms, availability masks and
+     * room bookings are each loaded with one query, and each room's occupancy is built once and shared.
+     *
+     * @param roomByProject projectId -> roomId to check
+     * @return projectId -> options; projects with nothing to offer map to an empty list
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<SlotOption>> getAvailableSlots(Map<Long, Long> roomByProject) {
+        Map<Long, List<SlotOption>> result = new HashMap<>();
+        roomByProject.keySet().forEach(pid -> result.put(pid, List.of()));
+        if (roomByProject.isEmpty()) {
+            return result;
         }
 
-        boolean[][] intersection = new boolean[DAYS][BINS];
-        for (int d = 0; d < DAYS; d++) {
-            for (int t = 0; t < BINS; t++) {
-                boolean ok = bool(roomAvail[d][t]) && bool(profAvail[d][t]);
-                for (Boolean[][] sm : studentMatrices) {
-                    ok = ok && bool(sm[d][t]);
-                    if (!ok) break;
-                }
-                intersection[d][t] = ok;
+        Map<Long, ProjectAllocation> allocations = allocationService.findAllocationsByProjectIds(roomByProject.keySet());
+        Map<Long, Room> rooms = roomRepository.findAllById(new HashSet<>(roomByProject.values())).stream()
+                .collect(Collectors.toMap(Room::getId, r -> r));
+
+        Set<Long> professorIds = allocations.values().stream().map(ProjectAllocation::getProfessorId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> studentIds = allocations.values().stream().flatMap(a -> a.getAssignedStudentIds().stream())
+                .collect(Collectors.toSet());
+        Set<Long> knownProfessors = professorService.findByIds(professorIds).keySet();
+        Set<Long> knownStudents = studentService.findByIds(studentIds).keySet();
+        Map<Long, AvailabilityMask> professorMasks = availabilityService.findMasks(knownProfessors, "PROFESSOR");
+        Map<Long, AvailabilityMask> studentMasks = availabilityService.findMasks(knownStudents, "STUDENT");
+
+        Map<Long, long[]> occupancy = new HashMap<>();
+        Map<Long, PresentationSlot> ownSlots = new HashMap<>();
+        for (PresentationSlot s : slotRepository.findByRoomIdIn(rooms.keySet())) {
+            long[] occupied = occupancy.computeIfAbsent(s.getRoomId(), id -> new long[DAYS]);
+            if (s.getDayIndex() >= 0 && s.getDayIndex() < DAYS) {
+                occupied[s.getDayIndex()] |= SlotFinder.block(s.getStartBinIndex(), s.getDurationBins());
             }
+            ownSlots.put(s.getProjectId(), s);
         }
 
-        Map<Integer, Set<Integer>> occupied = occupiedBinsForRoom(roomId, projectId);
+        roomByProject.forEach((projectId, roomId) -> {
+            ProjectAllocation allocation = allocations.get(projectId);
+            Room room = rooms.get(roomId);
+            if (allocation == null || allocation.getAssignedStudentIds().isEmpty()
+                    || room == null || room.getAvailabilityMask() == null
+                    || !knownProfessors.contains(allocation.getProfessorId())) {
+                return;
+            }
 
-        List<SlotOption> result = new ArrayList<>();
-        for (int d = 0; d < DAYS; d++) {
-            for (int t = 0; t <= BINS - DURATION_BINS; t++) {
-                boolean blockOk = true;
-                for (int k = 0; k < DURATION_BINS; k++) {
-                    if (!intersection[d][t + k]) {
-                        blockOk = false;
-                        break;
-                    }
+            List<AvailabilityMask> participants = new ArrayList<>();
+            participants.add(professorMasks.get(allocation.getProfessorId()));
+            for (Long sid : allocation.getAssignedStudentIds()) {
+                if (knownStudents.contains(sid)) {
+                    participants.add(studentMasks.get(sid));
                 }
-                if (!blockOk) continue;
-                if (binRangeOverlaps(occupied, d, t, DURATION_BINS)) {
-                    continue;
-                }
-                String label = formatSlotLabel(d, t, DURATION_BINS);
-                result.add(new SlotOption(d, t, label));
             }
-        }
 
-        return result.stream()
-                .sorted(Comparator.comparingInt(SlotOption::dayIndex)
-                        .thenComparingInt(SlotOption::startBinIndex))
-                .collect(Collectors.toList());
+            // the project's own booking in this room does not block it from moving
+            long[] occupied = occupancy.getOrDefault(roomId, new long[DAYS]).clone();
+            PresentationSlot own = ownSlots.get(projectId);
+            if (own != null && roomId.equals(own.getRoomId())
+                    && own.getDayIndex() >= 0 && own.getDayIndex() < DAYS) {
+                occupied[own.getDayIndex()] &= ~SlotFinder.block(own.getStartBinIndex(), own.getDurationBins());
+            }
+
+            long[] starts = SlotFinder.findStarts(room.getAvailabilityMask(), participants, occupied, DAYS, BINS, DURATION_BINS);
+            result.put(projectId, toSlotOptions(starts));
+        });
+        return result;
     }
 
-    private Boolean[][] normalize(Boolean[][] src) {
-        Boolean[][] matrix = new Boolean[DAYS][BINS];
+    // set bits are visited in ascending order, so the options come out sorted by day then bin
+    private List<SlotOption> toSlotOptions(long[] starts) {
+        List<SlotOption> options = new ArrayList<>();
         for (int d = 0; d < DAYS; d++) {
-            for (int t = 0; t < BINS; t++) {
-                Boolean v = (src != null && d < src.length && src[d] != null && t < src[d].length)
-                        ? src[d][t]
-                        : Boolean.FALSE;
-                matrix[d][t] = (v != null ? v : Boolean.FALSE);
+            for (long bits = starts[d]; bits != 0; bits &= bits - 1) {
+                int t = Long.numberOfTrailingZeros(bits);
+                options.add(new SlotOption(d, t, formatSlotLabel(d, t, DURATION_BINS)));
             }
         }
-        return matrix;
-    }
-
-    private boolean bool(Boolean b) {
-        return b != null && b;
+        return options;
     }
 
-    private Map<Integer, Set<Integer>> occupiedBinsForRoom(Long roomId, Long projectIdToIgnore) {
-        List<PresentationSlot> slots = slotRepository.findByRoomId(roomId);
-        Map<Integer, Set<Integer>> map = new HashMap<>();
-        for (PresentationSlot s : slots) {
+    /** Per-day bitmask of the bins already booked in the room. */
+    private long[] occupiedBinsForRoom(Long roomId, Long projectIdToIgnore) {
+        long[] occupied = new long[DAYS];
+        for (PresentationSlot s : slotRepository.findByRoomId(roomId)) {
             if (projectIdToIgnore != null && projectIdToIgnore.equals(s.getProjectId())) {
                 continue;
             }
             int d = s.getDayIndex();
-            int start = s.getStartBinIndex();
-            int dur = s.getDurationBins();
-            Set<Integer> set = map.computeIfAbsent(d, k -> new HashSet<>());
-            for (int t = start; t < start + dur; t++) {
-                set.add(t);
-            }
-        }
-        return map;
-    }
-
-    private boolean binRangeOverlaps(Map<Integer, Set<Integer>> occupied,
-                                     int dayIndex,
-                                     int startBin,
-                                     int dur) {
-        Set<Integer> used = occupied.get(dayIndex);
-        if (used == null) return false;
-        for (int t = startBin; t < startBin + dur; t++) {
-            if (used.contains(t)) return true;
+            if (d < 0 || d >= DAYS) continue;
+            occupied[d] |= SlotFinder.block(s.getStartBinIndex(), s.getDurationBins());
         }
-        return false;
+        return occupied;
     }
 
-    private String formatSlotLabel(int dayIndex, int startBinIndex, int durBins) {
+    /** Label for a slot position, e.g. "Monday 08:00-08:30". */
+    public static String formatSlotLabel(int dayIndex, int startBinIndex, int durBins) {
         String day = DAY_NAMES[dayIndex];
         int startMinutes = 8 * 60 + startBinIndex * 30;
         int endMinutes = startMinutes + durBins * 30;
@@ -261,60 +262,130 @@ public class PresentationService {
     // -----------------------------
     // Best-effort allocation
     // -----------------------------
-    public void runBestEffortAllocation() {
-        List<Room> rooms = roomRepository.findAll();
-        if (rooms.isEmpty()) return;
 
-        List<ProjectAllocation> allocations = allocationService.findAllAllocations().stream()
+    /**
+     * Schedules every allocated project that has no slot yet. Rooms, availabilities and existing slots
+     * are loaded once, the timetable is solved in memory (see {@link TimetableSolver}) and the new
+     * slots are saved in one batch.
+     */
+    public ScheduleReport runBestEffortAllocation() {
+        List<ProjectAllocation> allAllocations = allocationService.findAllAllocations();
+        List<ProjectAllocation> allocations = allAllocations.stream()
                 .filter(a -> !a.getAssignedStudentIds().isEmpty())
                 .collect(Collectors.toList());
-
-        for (ProjectAllocation allocation : allocations) {
-            Long pid = allocation.getProjectId();
-            if (!projectService.findProjectById(pid).isPresent()) continue;
-            if (slotRepository.findByProjectId(pid).isPresent()) continue;
-
-            for (Room room : rooms) {
-                List<SlotOption> options = getAvailableSlots(pid, room.getId());
-                if (!options.isEmpty()) {
-                    SlotOption first = options.get(0);
-                    try {
-                        assignPresentation(pid, room.getId(), first.dayIndex(), first.startBinIndex());
-                        break;
-                    } catch (RuntimeException ignored) {
-                    }
+        Set<Long> projectIds = allocations.stream().map(ProjectAllocation::getProjectId).collect(Collectors.toSet());
+        Map<Long, Project> projects = projectService.findProjectsByIds(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, p -> p));
+
+        List<PresentationSlot> existing = slotRepository.findAll();
+        Set<Long> alreadyScheduled = existing.stream().map(PresentationSlot::getProjectId).collect(Collectors.toSet());
+        // from every allocation: an existing slot still ties up its professor after the team has left
+        Map<Long, Long> professorByProject = allAllocations.stream()
+                .filter(a -> a.getProfessorId() != null)
+                .collect(Collectors.toMap(ProjectAllocation::getProjectId, ProjectAllocation::getProfessorId));
+
+        List<ProjectAllocation> pending = allocations.stream()
+                .filter(a -> projects.containsKey(a.getProjectId()))
+                .filter(a -> !alreadyScheduled.contains(a.getProjectId()))
+                .toList();
+
+        Set<Long> professorIds = pending.stream().map(ProjectAllocation::getProfessorId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> studentIds = pending.stream().flatMap(a -> a.getAssignedStudentIds().stream())
+                .collect(Collectors.toSet());
+        Set<Long> knownProfessors = professorService.findByIds(professorIds).keySet();
+        Set<Long> knownStudents = studentService.findByIds(studentIds).keySet();
+        Map<Long, AvailabilityMask> professorMasks = availabilityService.findMasks(knownProfessors, "PROFESSOR");
+        Map<Long, AvailabilityMask> studentMasks = availabilityService.findMasks(knownStudents, "STUDENT");
+
+        Map<Long, String> unschedulable = new LinkedHashMap<>();
+        List<TimetableSolver.Request> requests = new ArrayList<>();
+        for (ProjectAllocation allocation : pending) {
+            Long professorId = allocation.getProfessorId();
+            if (!knownProfessors.contains(professorId)) {
+                unschedulable.put(allocation.getProjectId(), "The project has no professor");
+                continue;
+            }
+            List<AvailabilityMask> participants = new ArrayList<>();
+            participants.add(professorMasks.get(professorId));
+            for (Long sid : allocation.getAssignedStudentIds()) {
+                if (knownStudents.contains(sid)) {
+                    participants.add(studentMasks.get(sid));
                 }
             }
+            requests.add(new TimetableSolver.Request(allocation.getProjectId(), professorId, participants));
         }
+
+        List<TimetableSolver.RoomCalendar> rooms = roomRepository.findAll().stream()
+                .filter(r -> r.getAvailabilityMask() != null)
+                .map(r -> new TimetableSolver.RoomCalendar(r.getId(), r.getAvailabilityMask()))
+                .toList();
+        List<TimetableSolver.Booking> bookings = existing.stream()
+                .map(s -> new TimetableSolver.Booking(s.getRoomId(), professorByProject.get(s.getProjectId()),
+                        s.getDayIndex(), s.getStartBinIndex(), s.getDurationBins()))
+                .toList();
+
+        TimetableSolver.Result result = TimetableSolver.solve(
+                requests, rooms, bookings, DAYS, BINS, DURATION_BINS, schedulerTimeBudgetMillis);
+
+        List<PresentationSlot> created = result.placements().stream()
+                .map(p -> new PresentationSlot(p.projectId(), p.roomId(), p.dayIndex(), p.startBinIndex(), DURATION_BINS))
+                .toList();
+        slotRepository.saveAll(created);
+
+        unschedulable.putAll(result.unschedulable());
+        List<UnschedulableProject> unscheduled = unschedulable.entrySet().stream()
+                .map(e -> new UnschedulableProject(e.getKey(), projects.get(e.getKey()).getTitle(), e.getValue()))
+                .toList();
+        return new ScheduleReport(created.size(), unscheduled, result.timedOut());
     }
 
     // -----------------------------
     // View model for /presentations
     // -----------------------------
+    /**
+     * One bulk query each for allocations, projects, professors, students and slots; rows are then
+     * assembled in memory so the page cost does not grow with the number of projects.
+     */
     @Transactional(readOnly = true)
     public List<PresentationRow> buildPresentationRows() {
         List<ProjectAllocation> allocations = allocationService.findAllAllocations().stream()
                 .filter(a -> !a.getAssignedStudentIds().isEmpty())
                 .collect(Collectors.toList());
+        if (allocations.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> projectIds = allocations.stream().map(ProjectAllocation::getProjectId).collect(Collectors.toSet());
+        Set<Long> professorIds = allocations.stream().map(ProjectAllocation::getProfessorId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> studentIds = allocations.stream().flatMap(a -> a.getAssignedStudentIds().stream())
+                .collect(Collectors.toSet());
+
+        Map<Long, Project> projects = projectService.findProjectsByIds(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, p -> p));
+        Map<Long, Professor> professors = professorService.findByIds(professorIds);
+        Map<Long, Student> students = studentService.findByIds(studentIds);
+        Map<Long, PresentationSlot> slots = slotRepository.findByProjectIdIn(projectIds).stream()
+                .collect(Collectors.toMap(PresentationSlot::getProjectId, s -> s));
 
         List<PresentationRow> rows = new ArrayList<>();
 
         for (ProjectAllocation alloc : allocations) {
             Long projectId = alloc.getProjectId();
-            Project project = projectService.findProjectById(projectId).orElse(null);
+            Project project = projects.get(projectId);
             if (project == null) continue;
 
-            Professor prof = professorService.findProfessorById(alloc.getProfessorId()).orElse(null);
+            Professor prof = professors.get(alloc.getProfessorId());
             String profName = prof != null ? prof.getName() : "(unknown)";
 
-            List<Long> studentIds = alloc.getAssignedStudentIds();
-            String studentNames = studentIds.stream()
-                    .map(id -> studentService.findStudentById(id).orElse(null))
+            String studentNames = alloc.getAssignedStudentIds().stream()
+                    .map(students::get)
                     .filter(Objects::nonNull)
                     .map(Student::getName)
                     .collect(Collectors.joining(", "));
 
-            PresentationSlot slot = slotRepository.findByProjectId(projectId).orElse(null);
+            PresentationSlot slot = slots.get(projectId);
             Long roomId = slot != null ? slot.getRoomId() : null;
             String slotLabel = describeSlot(slot);
 
@@ -332,17 +403,8 @@ public class PresentationService {
     }
 
     private boolean hasRoomConflict(Long roomId, int dayIndex, int startBinIndex, int durationBins, Long projectIdToIgnore) {
-        Map<Integer, Set<Integer>> occupied = occupiedBinsForRoom(roomId, projectIdToIgnore);
-
-        Set<Integer> used = occupied.get(dayIndex);
-        if (used == null) return false;
-
-        for (int t = startBinIndex; t < startBinIndex + durationBins; t++) {
-            if (used.contains(t)) {
-                return true;
-            }
-        }
-        return false;
+        long[] occupied = occupiedBinsForRoom(roomId, projectIdToIgnore);
+        return (occupied[dayIndex] & SlotFinder.block(startBinIndex, durationBins)) != 0;
     }
 
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package vv.pms.presentation;
 
 import jakarta.persistence.*;
-import vv.pms.availability.Availability;
+import vv.pms.availability.AvailabilityMask;
 
 @Entity
 @Table(name = "rooms")
@@ -14,9 +14,13 @@ public class Room {
     @Column(nullable = false, unique = true)
     private String name;
 
-    // 5 x 16 matrix (Mon–Fri, 30-min bins 08:00–16:00)
-    @Convert(converter = Availability.MatrixConverter.class)
-    @Column(columnDefinition = "TEXT")
+    // 5 x 16 grid (Mon–Fri, 30-min bins 08:00–16:00), stored as a packed hex mask
+    @Convert(converter = AvailabilityMask.Converter.class)
+    @Column(name = "availability")
+    private AvailabilityMask availabilityMask;
+
+    // Boolean[][] view, rebuilt from the mask on demand
+    @Transient
     private Boolean[][] availability;
 
     public Room() {
@@ -24,29 +28,35 @@ public class Room {
 
     public Room(String name) {
         this.name = name;
-        this.availability = defaultFullAvailability();
+        this.availabilityMask = AvailabilityMask.full(5, 16); // by default, rooms are available everywhere
     }
 
     public Room(String name, Boolean[][] availability) {
         this.name = name;
-        this.availability = availability;
-    }
-
-    private Boolean[][] defaultFullAvailability() {
-        Boolean[][] matrix = new Boolean[5][16];
-        for (int d = 0; d < 5; d++) {
-            for (int t = 0; t < 16; t++) {
-                matrix[d][t] = Boolean.TRUE; // by default, rooms are available everywhere
-            }
-        }
-        return matrix;
+        setAvailability(availability);
     }
 
     public Long getId() { return id; }
     public String getName() { return name; }
-    public Boolean[][] getAvailability() { return availability; }
+    public AvailabilityMask getAvailabilityMask() { return availabilityMask; }
+
+    public Boolean[][] getAvailability() {
+        if (availability == null && availabilityMask != null) {
+            availability = availabilityMask.toMatrix();
+        }
+        return availability;
+    }
 
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
-    public void setAvailability(Boolean[][] availability) { this.availability = availability; }
+
+    public void setAvailabilityMask(AvailabilityMask availabilityMask) {
+        this.availabilityMask = availabilityMask;
+        this.availability = null;
+    }
+
+    public void setAvailability(Boolean[][] availability) {
+        this.availability = availability;
+        this.availabilityMask = availability == null ? null : AvailabilityMask.of(availability);
+    }
 }
\ No newline at end of file
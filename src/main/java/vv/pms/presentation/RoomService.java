@@ -6,6 +6,10 @@ import vv.pms.presentation.internal.RoomRepository;
 
 import java.util.List;
 
+/**
+ * Rooms are not cached: they are live entities whose availability is also changed outside this service,
+ * and a cached instance would be shared between requests.
+ */
 @Service
 @Transactional
 public class RoomService {
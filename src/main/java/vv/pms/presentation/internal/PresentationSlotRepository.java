@@ -3,6 +3,7 @@ package vv.pms.presentation.internal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import vv.pms.presentation.PresentationSlot;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +12,8 @@ public interface PresentationSlotRepository extends JpaRepository<PresentationSl
     Optional<PresentationSlot> findByProjectId(Long projectId);
 
     List<PresentationSlot> findByRoomId(Long roomId);
+
+    List<PresentationSlot> findByProjectIdIn(Collection<Long> projectIds);
+
+    List<PresentationSlot> findByRoomIdIn(Collection<Long> roomIds);
 }
@@ -0,0 +1,32 @@
+package vv.pms.presentation.internal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import vv.pms.availability.LegacyAvailabilityMigration;
+
+/**
+ * Converts room availability saved in the old JSON format to hex masks at startup.
+ */
+@Component
+class RoomAvailabilityMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityMigration.class);
+
+    private final JdbcTemplate jdbc;
+
+    RoomAvailabilityMigration(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int migrated = LegacyAvailabilityMigration.migrate(jdbc, "rooms", "availability");
+        if (migrated > 0) {
+            log.info("Migrated {} room availability rows to the hex mask format", migrated);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package vv.pms.presentation.internal;
+
+import vv.pms.availability.AvailabilityMask;
+
+import java.util.List;
+
+/**
+ * Word-level slot search over {@link AvailabilityMask}s: one {@code long} per day, bit {@code t} set
+ * when bin {@code t} is free. Intersecting a whole team is one AND per participant per day instead
+ * of a Boolean lookup per participant per bin.
+ */
+public final class SlotFinder {
+
+    private SlotFinder() {}
+
+    /**
+     * Start bins at which a block of {@code durationBins} fits for everyone.
+     *
+     * @param room         room availability
+     * @param participants professor and students; every one of them must be free
+     * @param occupied     per-day bins already booked in the room (may be shorter than {@code days})
+     * @return one word per day with bit {@code t} set when a block may start at bin {@code t}
+     */
+    public static long[] findStarts(AvailabilityMask room,
+                                    List<AvailabilityMask> participants,
+                                    long[] occupied,
+                                    int days,
+                                    int bins,
+                                    int durationBins) {
+        long binMask = bins >= Long.SIZE ? -1L : (1L << bins) - 1;
+        long[] starts = new long[days];
+        for (int d = 0; d < days; d++) {
+            long free = room.day(d) & binMask;
+            for (int i = 0; i < participants.size() && free != 0; i++) {
+                free &= participants.get(i).day(d);
+            }
+            if (d < occupied.length) {
+                free &= ~occupied[d];
+            }
+            starts[d] = runStarts(free, durationBins) & binMask;
+        }
+        return starts;
+    }
+
+    /** Bits {@code t} of {@code free} such that bins {@code t .. t + length - 1} are all set. */
+    public static long runStarts(long free, int length) {
+        long run = free;
+        for (int k = 1; k < length && run != 0; k++) {
+            run &= free >>> k;
+        }
+        return run;
+    }
+
+    /** Bits covering {@code length} bins from {@code start}, clipped to one day word. */
+    public static long block(int start, int length) {
+        if (start >= Long.SIZE || length <= 0) return 0L;
+        long bits = length >= Long.SIZE ? -1L : (1L << length) - 1;
+        return bits << start;
+    }
+}
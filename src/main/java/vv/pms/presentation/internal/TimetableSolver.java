@@ -0,0 +1,257 @@
+package vv.pms.presentation.internal;
+
+import vv.pms.availability.AvailabilityMask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory presentation timetabler.
+ *
+ * Every project is a variable whose domain is the set of (room, day, start bin) blocks where the room
+ * and the whole team are free, the room is not booked and the professor is not presenting elsewhere.
+ * The search is a depth-first branch and bound: it always extends the project with the fewest options
+ * left (most constrained first), tries its options in time order, and only then tries leaving it out.
+ * The first leaf is therefore the greedy most-constrained-first timetable; the remaining time budget is
+ * spent looking for one that schedules more projects. The best timetable found so far is returned.
+ */
+public final class TimetableSolver {
+
+    /** A project to schedule; {@code participants} holds the professor and every student. */
+    public record Request(Long projectId, Long professorId, List<AvailabilityMask> participants) {}
+
+    /** A room and its availability. */
+    public record RoomCalendar(Long roomId, AvailabilityMask availability) {}
+
+    /** An existing booking that the new timetable has to work around. */
+    public record Booking(Long roomId, Long professorId, int dayIndex, int startBinIndex, int durationBins) {}
+
+    /** A block chosen for a project. */
+    public record Placement(Long projectId, Long roomId, int dayIndex, int startBinIndex) {}
+
+    /**
+     * @param unschedulable projectId -> reason, for every request without a placement
+     * @param timedOut      true when the budget ran out before the search proved the result optimal
+     */
+    public record Result(List<Placement> placements, Map<Long, String> unschedulable, boolean timedOut) {}
+
+    public static final String NO_COMMON_TIME = "The professor and students have no common free time";
+    public static final String NO_ROOM = "No room is available when the team is free";
+    public static final String ROOMS_BOOKED = "Every matching room slot is already booked";
+    public static final String CONFLICTS = "Every matching slot is taken by other presentations or the professor's other projects";
+
+    private final int days;
+    private final int duration;
+    private final long binMask;
+
+    private final List<Request> requests;
+    private final List<RoomCalendar> rooms;
+    private final long[][] teamFree;   // [request][day]
+    private final long[][] roomFree;   // [room][day]
+    private final long[][] roomBusy;   // [room][day]
+    private final Map<Long, long[]> professorBusy = new HashMap<>();
+
+    private final int[] choice;        // encoded option per request, -1 when left out
+    private final long deadline;
+    private boolean timedOut;
+    private int goal;
+    private int best = -1;
+    private int[] bestChoice;
+    private int placedCount;
+
+    private TimetableSolver(List<Request> requests, List<RoomCalendar> rooms, List<Booking> bookings,
+                            int days, int bins, int duration, long deadline) {
+        this.requests = requests;
+        this.rooms = rooms;
+        this.days = days;
+        this.duration = duration;
+        this.binMask = bins >= Long.SIZE ? -1L : (1L << bins) - 1;
+        this.deadline = deadline;
+
+        teamFree = new long[requests.size()][days];
+        for (int r = 0; r < requests.size(); r++) {
+            for (int d = 0; d < days; d++) {
+                long free = binMask;
+                for (AvailabilityMask mask : requests.get(r).participants()) {
+                    free &= mask.day(d);
+                }
+                teamFree[r][d] = free;
+            }
+        }
+        roomFree = new long[rooms.size()][days];
+        roomBusy = new long[rooms.size()][days];
+        Map<Long, Integer> roomIndex = new HashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            roomIndex.put(rooms.get(i).roomId(), i);
+            for (int d = 0; d < days; d++) {
+                roomFree[i][d] = rooms.get(i).availability().day(d) & binMask;
+            }
+        }
+        for (Booking b : bookings) {
+            if (b.dayIndex() < 0 || b.dayIndex() >= days) continue;
+            long block = SlotFinder.block(b.startBinIndex(), b.durationBins());
+            Integer room = roomIndex.get(b.roomId());
+            if (room != null) roomBusy[room][b.dayIndex()] |= block;
+            if (b.professorId() != null) busyOf(b.professorId())[b.dayIndex()] |= block;
+        }
+        choice = new int[requests.size()];
+    }
+
+    /**
+     * Schedules as many requests as possible, searching for improvements for up to {@code timeBudgetMillis}.
+     * Requests are independent of each other except through rooms and professors.
+     */
+    public static Result solve(List<Request> requests, List<RoomCalendar> rooms, List<Booking> bookings,
+                               int days, int bins, int durationBins, long timeBudgetMillis) {
+        long deadline = System.nanoTime() + Math.max(0, timeBudgetMillis) * 1_000_000L;
+        return new TimetableSolver(requests, rooms, bookings, days, bins, durationBins, deadline).run();
+    }
+
+    private Result run() {
+        int n = requests.size();
+        Map<Long, String> unschedulable = new LinkedHashMap<>();
+        List<Integer> open = new ArrayList<>();
+        for (int r = 0; r < n; r++) {
+            choice[r] = -1;
+            String reason = staticReason(r);
+            if (reason != null) {
+                unschedulable.put(requests.get(r).projectId(), reason);
+            } else {
+                open.add(r);
+            }
+        }
+
+        bestChoice = choice.clone();
+        goal = open.size();
+        boolean[] assigned = new boolean[n];
+        Arrays.fill(assigned, true);
+        for (int r : open) {
+            assigned[r] = false;
+        }
+        search(assigned, goal);
+
+        List<Placement> placements = new ArrayList<>();
+        for (int r : open) {
+            Request request = requests.get(r);
+            int c = bestChoice[r];
+            if (c < 0) {
+                unschedulable.put(request.projectId(), CONFLICTS);
+                continue;
+            }
+            int slot = c / Long.SIZE;
+            placements.add(new Placement(request.projectId(), rooms.get(slot / days).roomId(),
+                    slot % days, c % Long.SIZE));
+        }
+        return new Result(placements, unschedulable, timedOut);
+    }
+
+    /** Why a request cannot be placed even in an empty timetable, or null when it can. */
+    private String staticReason(int r) {
+        boolean teamFits = false;
+        boolean roomFits = false;
+        boolean unbooked = false;
+        for (int d = 0; d < days; d++) {
+            if (SlotFinder.runStarts(teamFree[r][d], duration) == 0) continue;
+            teamFits = true;
+            for (int room = 0; room < rooms.size(); room++) {
+                long free = teamFree[r][d] & roomFree[room][d];
+                if (SlotFinder.runStarts(free, duration) == 0) continue;
+                roomFits = true;
+                if (SlotFinder.runStarts(free & ~roomBusy[room][d], duration) != 0) {
+                    unbooked = true;
+                }
+            }
+        }
+        if (!teamFits) return NO_COMMON_TIME;
+        if (!roomFits) return NO_ROOM;
+        if (!unbooked) return ROOMS_BOOKED;
+        return null;
+    }
+
+    /**
+     * @param remaining number of requests not yet assigned or left out
+     */
+    private void search(boolean[] assigned, int remaining) {
+        if (placedCount + remaining <= best) return;
+        if (remaining == 0) {
+            best = placedCount;
+            bestChoice = choice.clone();
+            return;
+        }
+        // the first, greedy descent always completes so there is a timetable to return
+        if (best >= 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+            return;
+        }
+
+        // most constrained first: the open request with the fewest options left
+        int next = -1;
+        long[] nextOptions = null;
+        int nextCount = Integer.MAX_VALUE;
+        for (int r = 0; r < requests.size(); r++) {
+            if (assigned[r]) continue;
+            long[] options = options(r);
+            int count = 0;
+            for (long word : options) count += Long.bitCount(word);
+            if (count < nextCount) {
+                next = r;
+                nextOptions = options;
+                nextCount = count;
+                if (count == 0) break;
+            }
+        }
+
+        assigned[next] = true;
+        long[] busy = busyOf(requests.get(next).professorId());
+        for (int d = 0; d < days && !finished(); d++) {
+            for (int room = 0; room < rooms.size() && !finished(); room++) {
+                for (long bits = nextOptions[room * days + d]; bits != 0 && !finished(); bits &= bits - 1) {
+                    int start = Long.numberOfTrailingZeros(bits);
+                    long block = SlotFinder.block(start, duration);
+                    roomBusy[room][d] |= block;
+                    busy[d] |= block;
+                    choice[next] = (room * days + d) * Long.SIZE + start;
+                    placedCount++;
+
+                    search(assigned, remaining - 1);
+
+                    placedCount--;
+                    choice[next] = -1;
+                    busy[d] &= ~block;
+                    roomBusy[room][d] &= ~block;
+                }
+            }
+        }
+        if (!finished()) {
+            search(assigned, remaining - 1);
+        }
+        assigned[next] = false;
+    }
+
+    private boolean finished() {
+        return timedOut || best == goal;
+    }
+
+    /** Start bits per (room, day) that are still open for the request, indexed {@code room * days + day}. */
+    private long[] options(int r) {
+        long[] busy = busyOf(requests.get(r).professorId());
+        long[] options = new long[rooms.size() * days];
+        for (int d = 0; d < days; d++) {
+            long team = teamFree[r][d] & ~busy[d];
+            if (team == 0) continue;
+            for (int room = 0; room < rooms.size(); room++) {
+                long free = team & roomFree[room][d] & ~roomBusy[room][d];
+                options[room * days + d] = SlotFinder.runStarts(free, duration) & binMask;
+            }
+        }
+        return options;
+    }
+
+    private long[] busyOf(Long professorId) {
+        return professorBusy.computeIfAbsent(professorId, id -> new long[days]);
+    }
+}
@@ -11,7 +11,8 @@ import jakarta.validation.constraints.NotBlank;
 public class Professor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "professor_seq")
+    @SequenceGenerator(name = "professor_seq", sequenceName = "professor_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -0,0 +1,8 @@
+package vv.pms.professor;
+
+/**
+ * Published inside the transaction that renames or deletes a professor.
+ *
+ * @param name the professor's new name, or null when the professor was deleted
+ */
+public record ProfessorChanged(Long professorId, String name) {}
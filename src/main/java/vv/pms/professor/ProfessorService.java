@@ -1,29 +1,45 @@
 package vv.pms.professor;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vv.pms.professor.internal.ProfessorRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Service
 @Transactional
 public class ProfessorService {
 
+    static final String CACHE = "professors";
+    static final String LIST_CACHE = "professorList";
+
     private final ProfessorRepository repository;
+    private final Cache cache;
+    private final ApplicationEventPublisher events;
 
-    public ProfessorService(ProfessorRepository repository) {
+    public ProfessorService(ProfessorRepository repository, CacheManager cacheManager, ApplicationEventPublisher events) {
         this.repository = repository;
+        this.cache = cacheManager.getCache(CACHE);
+        this.events = events;
     }
 
     /**
      * Adds a new professor to the system.
      */
+    @CacheEvict(cacheNames = LIST_CACHE, allEntries = true)
     public Professor addProfessor(String name, String email) {
         if (repository.findByEmail(email).isPresent()) {
             throw new IllegalArgumentException("Professor with email " + email + " already exists.");
@@ -32,6 +48,21 @@ public class ProfessorService {
         return repository.save(newProfessor);
     }
 
+    /**
+     * Saves many new professors at once; the inserts are sent in JDBC batches. Callers check email
+     * uniqueness up front (see {@link #findAllEmails()}).
+     */
+    @CacheEvict(cacheNames = LIST_CACHE, allEntries = true)
+    public List<Professor> addProfessors(List<Professor> professors) {
+        return repository.saveAll(professors);
+    }
+
+    /** Emails of all professors, as a modifiable set. */
+    @Transactional(readOnly = true)
+    public Set<String> findAllEmails() {
+        return new HashSet<>(repository.findAllEmails());
+    }
+
     /**
      * Find a professor by email. Public API used by other modules (e.g., auth).
      */
@@ -44,6 +75,7 @@ public class ProfessorService {
      * Retrieves a professor by their ID.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE, key = "#id", unless = "#result == null")
     public Optional<Professor> findProfessorById(Long id) {
         return repository.findById(id);
     }
@@ -52,6 +84,7 @@ public class ProfessorService {
      * Retrieves all professors.
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = LIST_CACHE, key = "'all'")
     public List<Professor> findAllProfessors() {
         return repository.findAll();
     }
@@ -60,13 +93,22 @@ public class ProfessorService {
      * Deletes a professor by ID.
      * TODO: Checks before deletion? (are they assigned to any projects?)
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CACHE, key = "#id"),
+            @CacheEvict(cacheNames = LIST_CACHE, allEntries = true)
+    })
     public void deleteProfessor(Long id) {
         if (!repository.existsById(id)) {
             throw new ProfessorNotFoundException("Professor with ID " + id + " not found.");
         }
         repository.deleteById(id);
+        events.publishEvent(new ProfessorChanged(id, null));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CACHE, key = "#id"),
+            @CacheEvict(cacheNames = LIST_CACHE, allEntries = true)
+    })
     public void modifyProfessor(Long id, String name, String email) {
         Professor professor = repository.findById(id)
                 .orElseThrow(() -> new ProfessorNotFoundException("Professor with ID " + id + " not found."));
@@ -76,16 +118,38 @@ public class ProfessorService {
             throw new ProfessorAlreadyExistsException("Professor with email " + email + " already exists.");
         }
 
+        boolean renamed = !Objects.equals(professor.getName(), name);
         professor.setName(name);
         professor.setEmail(email);
         repository.save(professor);
+        if (renamed) {
+            events.publishEvent(new ProfessorChanged(id, name));
+        }
     }
 
-    /** Finds all Professors for a given set of IDs and returns them in a Map for fast lookups */
+    /**
+     * Finds all Professors for a given set of IDs and returns them in a Map for fast lookups.
+     * Served from the professor cache where possible; only the misses go to the database.
+     */
     @Transactional(readOnly = true)
     public Map<Long, Professor> findByIds(Set<Long> ids) {
-        return repository.findAllById(ids).stream()
-                .collect(Collectors.toMap(Professor::getId, Function.identity()));
+        Map<Long, Professor> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Professor cached = id == null ? null : cache.get(id, Professor.class);
+            if (cached != null) {
+                result.put(id, cached);
+            } else if (id != null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Professor professor : repository.findAllById(missing)) {
+                cache.put(professor.getId(), professor);
+                result.put(professor.getId(), professor);
+            }
+        }
+        return result;
     }
 }
 
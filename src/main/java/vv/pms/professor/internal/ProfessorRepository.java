@@ -1,10 +1,16 @@
 package vv.pms.professor.internal;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import vv.pms.professor.Professor;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfessorRepository extends JpaRepository<Professor, Long> {
     Optional<Professor> findByEmail(String email);
+
+    // Every professor email, so a bulk import can check uniqueness without a query per row
+    @Query("SELECT p.email FROM Professor p")
+    List<String> findAllEmails();
 }
\ No newline at end of file
@@ -6,11 +6,16 @@ import jakarta.validation.constraints.NotBlank;
 import java.util.Set;
 
 @Entity
-@Table(name = "project_topics")
+@Table(name = "project_topics", indexes = {
+        @Index(name = "idx_project_topics_status", columnList = "status"),
+        // matches the search order, so keyset pages seek straight to (title, id)
+        @Index(name = "idx_project_topics_title_id", columnList = "title, id")
+})
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -22,7 +27,8 @@ public class Project {
     private String description;
 
     @ElementCollection(targetClass = Program.class, fetch = FetchType.EAGER)
-    @CollectionTable(name = "topic_program_restrictions", joinColumns = @JoinColumn(name = "topic_id"))
+    @CollectionTable(name = "topic_program_restrictions", joinColumns = @JoinColumn(name = "topic_id"),
+            indexes = @Index(name = "idx_topic_program_restrictions_program", columnList = "program, topic_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "program")
     private Set<Program> programRestrictions;
@@ -100,6 +106,21 @@ public class Project {
         this.status = ProjectStatus.ARCHIVED;
     }
 
+    /**
+     * Sets OPEN or FULL from the number of assigned students; an archived project stays archived.
+     *
+     * @return true if the status changed
+     */
+    public boolean updateOccupancy(int assignedStudents) {
+        if (status == ProjectStatus.ARCHIVED) {
+            return false;
+        }
+        ProjectStatus next = assignedStudents >= requiredStudents ? ProjectStatus.FULL : ProjectStatus.OPEN;
+        boolean changed = next != status;
+        status = next;
+        return changed;
+    }
+
     public boolean isProgramAllowed(Program studentProgram) {
         return this.programRestrictions.contains(studentProgram);
     }
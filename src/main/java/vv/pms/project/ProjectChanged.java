@@ -0,0 +1,8 @@
+package vv.pms.project;
+
+/**
+ * Published when a project is added, edited, archived or deleted. Listeners run synchronously inside
+ * the writing transaction, so anything they derive from the project commits or rolls back with it.
+ * A listener that no longer finds the project should treat it as deleted.
+ */
+public record ProjectChanged(Long projectId) {}
@@ -0,0 +1,42 @@
+package vv.pms.project;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the (title, id) ordering of project search results. Passed back by clients to fetch the
+ * page after it, so the database seeks to the position through the index instead of skipping rows.
+ */
+public record ProjectCursor(String title, long id) {
+
+    public static ProjectCursor after(Project project) {
+        return new ProjectCursor(project.getTitle(), project.getId());
+    }
+
+    /** Opaque, URL-safe form of this cursor. */
+    public String encode() {
+        String raw = id + ":" + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reverses {@link #encode()}; a null or blank token means "from the start" and yields null.
+     *
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static ProjectCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int sep = raw.indexOf(':');
+        if (sep <= 0) {
+            throw new IllegalArgumentException("Malformed project cursor");
+        }
+        try {
+            return new ProjectCursor(raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed project cursor", e);
+        }
+    }
+}
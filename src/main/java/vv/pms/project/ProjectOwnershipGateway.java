@@ -1,10 +1,17 @@
 package vv.pms.project;
 
+import java.util.Map;
 import java.util.Optional;
 
 public interface ProjectOwnershipGateway {
     // This method returns void to break the dependency cycle
     void assignProjectOwner(Long projectId, Long professorId);
 
+    // Bulk form of assignProjectOwner for newly created projects, keyed by project id
+    void assignProjectOwners(Map<Long, Long> professorByProject);
+
     Optional<Long> findProjectOwnerId(Long projectId);
+
+    // Students currently assigned to the project, counted without loading the allocation
+    int countAssignedStudents(Long projectId);
 }
\ No newline at end of file
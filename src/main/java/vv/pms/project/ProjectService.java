@@ -1,28 +1,48 @@
 package vv.pms.project;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy; // <--- 1. IMPORT LAZY
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import vv.pms.project.internal.ProjectRepository;
+import vv.pms.project.internal.ProjectSearchIndex;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ProjectService {
 
+    static final String COUNT_CACHE = "projectCounts";
+
     private final ProjectRepository projectRepository;
     private final ProjectOwnershipGateway allocationGateway;
+    private final CacheManager cacheManager;
+    private final ProjectSearchIndex searchIndex;
+    private final ApplicationEventPublisher events;
 
     @PersistenceContext
     private EntityManager em;
@@ -31,9 +51,42 @@ public class ProjectService {
     // This allows the app to start up without crashing,
     // while the Interface keeps the "Architecture Test" happy.
     public ProjectService(ProjectRepository projectRepository,
-                          @Lazy ProjectOwnershipGateway allocationGateway) {
+                          @Lazy ProjectOwnershipGateway allocationGateway,
+                          CacheManager cacheManager,
+                          ProjectSearchIndex searchIndex,
+                          ApplicationEventPublisher events) {
         this.projectRepository = projectRepository;
         this.allocationGateway = allocationGateway;
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+        this.events = events;
+    }
+
+    /** Loads every project into the full-text index once the application is up. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildSearchIndex() {
+        searchIndex.clear();
+        try (Stream<Project> projects = em.createQuery("SELECT p FROM Project p", Project.class).getResultStream()) {
+            projects.forEach(project -> {
+                searchIndex.index(project);
+                em.detach(project);
+            });
+        }
+    }
+
+    /** The index only reflects committed data, so changes are applied once the surrounding transaction commits. */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private void checkModificationAuthorization(Long projectId, Long requestingProfessorId, boolean isCoordinator) {
@@ -60,6 +113,7 @@ public class ProjectService {
         return em.createQuery("SELECT p FROM Project p ORDER BY p.id", Project.class).getResultList();
     }
 
+    // Not cached: the result is a live entity that callers may change, and a cached instance would be shared
     public Optional<Project> findProjectById(Long id) {
         if (id == null) return Optional.empty();
         Project p = em.find(Project.class, id);
@@ -74,6 +128,7 @@ public class ProjectService {
         return projectRepository.findAllById(ids);
     }
 
+    @CacheEvict(cacheNames = COUNT_CACHE, allEntries = true)
     public Project addProject(String title, String description, java.util.Set<Program> programs, int requiredStudents, Long professorId) {
         if (title == null || title.isBlank()) {
             throw new IllegalArgumentException("Title is required");
@@ -90,69 +145,230 @@ public class ProjectService {
         em.flush();
 
         allocationGateway.assignProjectOwner(p.getId(), professorId);
+        afterCommit(() -> searchIndex.index(p));
+        events.publishEvent(new ProjectChanged(p.getId()));
 
         return p;
     }
 
-    public Project updateProject(Project project, Long requestingProfessorId, boolean isCoordinator) {
-        if (project.getId() == null) throw new IllegalArgumentException("Project id required for update");
-        checkModificationAuthorization(project.getId(), requestingProfessorId, isCoordinator);
-        return em.merge(project);
+    /** One project to create with {@link #addProjects}. */
+    public record NewProject(String title, String description, java.util.Set<Program> programs, int requiredStudents, Long professorId) {}
+
+    /**
+     * Creates many projects at once, e.g. from a coordinator's import. Inserts go out in JDBC batches and
+     * ownership is assigned with one call to the gateway, which also refreshes the listings of the new
+     * projects, so no per-project {@link ProjectChanged} is published. Fields are validated by the caller.
+     */
+    @CacheEvict(cacheNames = COUNT_CACHE, allEntries = true)
+    public List<Project> addProjects(List<NewProject> newProjects) {
+        List<Project> projects = newProjects.stream()
+                .map(n -> new Project(n.title(), n.description(), n.programs(), n.requiredStudents()))
+                .toList();
+        projectRepository.saveAll(projects);
+        em.flush();
+
+        Map<Long, Long> owners = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            owners.put(projects.get(i).getId(), newProjects.get(i).professorId());
+        }
+        allocationGateway.assignProjectOwners(owners);
+        afterCommit(() -> projects.forEach(searchIndex::index));
+        return projects;
+    }
+
+    /**
+     * Applies the edited fields to a copy loaded here, so a caller's instance is never changed and a
+     * rejected edit leaves nothing behind.
+     */
+    @CacheEvict(cacheNames = COUNT_CACHE, allEntries = true)
+    public Project updateProject(Long id, String title, String description, java.util.Set<Program> programs,
+                                 int requiredStudents, Long requestingProfessorId, boolean isCoordinator) {
+        if (id == null) throw new IllegalArgumentException("Project id required for update");
+        checkModificationAuthorization(id, requestingProfessorId, isCoordinator);
+        Project p = em.find(Project.class, id);
+        if (p == null) throw new IllegalArgumentException("Project not found: " + id);
+        p.setTitle(title);
+        p.setDescription(description);
+        p.setProgramRestrictions(programs);
+        p.setRequiredStudents(requiredStudents);
+        // capacity may have changed
+        p.updateOccupancy(allocationGateway.countAssignedStudents(id));
+        afterCommit(() -> searchIndex.index(p));
+        events.publishEvent(new ProjectChanged(id));
+        return p;
     }
 
+    @CacheEvict(cacheNames = COUNT_CACHE, allEntries = true)
     public void deleteProject(Long id, Long requestingProfessorId, boolean isCoordinator) {
         checkModificationAuthorization(id, requestingProfessorId, isCoordinator);
         Project p = em.find(Project.class, id);
         if (p != null) {
             em.remove(p);
+            afterCommit(() -> searchIndex.remove(id));
+            events.publishEvent(new ProjectChanged(id));
         } else {
             throw new IllegalArgumentException("Project not found: " + id);
         }
     }
 
+    @CacheEvict(cacheNames = COUNT_CACHE, allEntries = true)
     public void archiveProject(Long id, Long requestingProfessorId, boolean isCoordinator) {
         checkModificationAuthorization(id, requestingProfessorId, isCoordinator);
         Project p = em.find(Project.class, id);
         if (p == null) throw new IllegalArgumentException("Project not found: " + id);
         p.archive();
         em.merge(p);
+        afterCommit(() -> searchIndex.index(p));
+        events.publishEvent(new ProjectChanged(id));
     }
 
+    /**
+     * Moves the project between OPEN and FULL after its team changed size; archived projects are left alone.
+     * Keeping the status current lets searches for open projects filter on the indexed status column
+     * and lets the apply path turn away full projects without counting their students.
+     */
+    @CacheEvict(cacheNames = COUNT_CACHE, allEntries = true)
+    public void updateOccupancy(Long projectId, int assignedStudents) {
+        Project p = em.find(Project.class, projectId);
+        if (p == null || !p.updateOccupancy(assignedStudents)) {
+            return;
+        }
+        afterCommit(() -> searchIndex.index(p));
+        events.publishEvent(new ProjectChanged(projectId));
+    }
+
+    /**
+     * Offset-paged search ordered by (title, id). Fine for the first few pages; deep pages should use
+     * {@link #findProjectsAfter}, which does not have to skip over the rows before them.
+     */
     @Transactional(readOnly = true)
     public Page<Project> findProjects(String program, String status, Pageable pageable) {
-        Program programEnum = (program != null && !program.isBlank()) ? Program.valueOf(program.toUpperCase()) : null;
-        ProjectStatus statusEnum = (status != null && !status.isBlank()) ? ProjectStatus.valueOf(status.toUpperCase()) : null;
+        ProjectFilter filter = ProjectFilter.of(program, status);
+
+        TypedQuery<Project> dataQuery = em.createQuery(filter.select(null), Project.class);
+        filter.bind(dataQuery);
+        if (pageable.isPaged()) {
+            dataQuery.setFirstResult((int) pageable.getOffset());
+            dataQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Project> projects = dataQuery.getResultList();
 
-        Map<String, Object> parameters = new HashMap<>();
-        StringBuilder sb = new StringBuilder("SELECT DISTINCT p FROM Project p ");
-        sb.append("LEFT JOIN p.programRestrictions pr WHERE 1=1 ");
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(projects, pageable, projects.size());
+        }
+        return new PageImpl<>(projects, pageable, countProjects(filter));
+    }
+
+    /**
+     * Full-text search over titles and descriptions, best matches first, within the program/status filter.
+     * A blank query falls back to the plain filtered listing.
+     */
+    @Transactional(readOnly = true)
+    public Page<Project> findProjects(String program, String status, String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return findProjects(program, status, pageable);
+        }
+        ProjectFilter filter = ProjectFilter.of(program, status);
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        ProjectSearchIndex.Hits hits = searchIndex.search(query, filter.program(), filter.status(), offset, limit);
+        Map<Long, Project> byId = projectRepository.findAllById(hits.ids()).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        List<Project> ranked = hits.ids().stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ranked, pageable, hits.total());
+    }
+
+    /**
+     * Keyset-paged search: the {@code size} projects ordered by (title, id) that come after {@code after},
+     * or the first ones when {@code after} is null. The cost is the same for every page.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Project> findProjectsAfter(String program, String status, ProjectCursor after, int size) {
+        if (size < 1) throw new IllegalArgumentException("Page size must be at least 1");
+        ProjectFilter filter = ProjectFilter.of(program, status);
+
+        TypedQuery<Project> query = em.createQuery(filter.select(after), Project.class);
+        filter.bind(query);
+        if (after != null) {
+            query.setParameter("afterTitle", after.title());
+            query.setParameter("afterId", after.id());
+        }
+        // one extra row tells us whether there is a next page without a count
+        query.setMaxResults(size + 1);
+        List<Project> rows = query.getResultList();
+
+        boolean hasNext = rows.size() > size;
+        List<Project> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
 
-        if (programEnum != null) {
-            sb.append("AND pr = :program ");
-            parameters.put("program", programEnum);
+    /**
+     * Number of projects matching the filter. Served from a cache that is cleared whenever a project is
+     * added, changed or removed, so it is exact for writes made through this service and at most one
+     * cache lifetime stale otherwise.
+     */
+    @Transactional(readOnly = true)
+    public long countProjects(String program, String status) {
+        return countProjects(ProjectFilter.of(program, status));
+    }
+
+    private long countProjects(ProjectFilter filter) {
+        Cache counts = cacheManager.getCache(COUNT_CACHE);
+        Long cached = counts != null ? counts.get(filter.key(), Long.class) : null;
+        if (cached != null) {
+            return cached;
         }
-        if (statusEnum != null) {
-            sb.append("AND p.status = :status ");
-            parameters.put("status", statusEnum);
+        TypedQuery<Long> countQuery = em.createQuery(filter.count(), Long.class);
+        filter.bind(countQuery);
+        long total = countQuery.getSingleResult();
+        if (counts != null) {
+            counts.put(filter.key(), total);
         }
-        sb.append("ORDER BY p.title ASC");
+        return total;
+    }
 
-        TypedQuery<Project> dataQuery = em.createQuery(sb.toString(), Project.class);
-        parameters.forEach(dataQuery::setParameter);
-        dataQuery.setFirstResult((int) pageable.getOffset());
-        dataQuery.setMaxResults(pageable.getPageSize());
+    /**
+     * The program/status filter shared by the search queries. The program restriction is an
+     * {@code EXISTS} on the collection table rather than a join, so no DISTINCT is needed and the
+     * (program, topic_id) index answers it.
+     */
+    private record ProjectFilter(Program program, ProjectStatus status) {
 
-        StringBuilder countSb = new StringBuilder("SELECT COUNT(DISTINCT p) FROM Project p ");
-        countSb.append("LEFT JOIN p.programRestrictions pr WHERE 1=1 ");
-        if (programEnum != null) countSb.append("AND pr = :program ");
-        if (statusEnum != null) countSb.append("AND p.status = :status ");
+        static ProjectFilter of(String program, String status) {
+            return new ProjectFilter(
+                    (program != null && !program.isBlank()) ? Program.valueOf(program.toUpperCase()) : null,
+                    (status != null && !status.isBlank()) ? ProjectStatus.valueOf(status.toUpperCase()) : null);
+        }
 
-        TypedQuery<Long> countQuery = em.createQuery(countSb.toString(), Long.class);
-        parameters.forEach(countQuery::setParameter);
+        String key() {
+            return program + ":" + status;
+        }
 
-        List<Project> projects = dataQuery.getResultList();
-        long totalCount = countQuery.getSingleResult();
+        String select(ProjectCursor after) {
+            StringBuilder sb = new StringBuilder("SELECT p FROM Project p");
+            where(sb);
+            if (after != null) {
+                sb.append(" AND (p.title > :afterTitle OR (p.title = :afterTitle AND p.id > :afterId))");
+            }
+            return sb.append(" ORDER BY p.title ASC, p.id ASC").toString();
+        }
+
+        String count() {
+            StringBuilder sb = new StringBuilder("SELECT COUNT(p) FROM Project p");
+            where(sb);
+            return sb.toString();
+        }
 
-        return new PageImpl<>(projects, pageable, totalCount);
+        private void where(StringBuilder sb) {
+            sb.append(" WHERE 1=1");
+            if (program != null) sb.append(" AND :program MEMBER OF p.programRestrictions");
+            if (status != null) sb.append(" AND p.status = :status");
+        }
+
+        void bind(TypedQuery<?> query) {
+            if (program != null) query.setParameter("program", program);
+            if (status != null) query.setParameter("status", status);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,183 @@
+package vv.pms.project.internal;
+
+import org.springframework.stereotype.Component;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over project titles and descriptions, ranked with BM25.
+ *
+ * Each term maps to the projects containing it and how often, so a query only touches the postings of
+ * its own terms instead of scanning every description. Title terms count {@value #TITLE_WEIGHT} times so
+ * a match in the title outranks one buried in the description. Status and programs are kept alongside
+ * each entry so filtered searches are answered without going to the database.
+ *
+ * The index holds committed state only: ProjectService applies changes after its transaction commits.
+ */
+@Component
+public class ProjectSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "with");
+
+    /** A page of matching project ids, best first, and how many projects matched in total. */
+    public record Hits(List<Long> ids, long total) {}
+
+    private record Entry(String[] terms, int length, ProjectStatus status, Set<Program> programs) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long totalLength;
+
+    /** Adds the project, replacing what was indexed for it before. */
+    public void index(Project project) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(project.getTitle())) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(project.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        Set<Program> programs = project.getProgramRestrictions() == null ? Set.of() : Set.copyOf(project.getProgramRestrictions());
+        Entry entry = new Entry(frequencies.keySet().toArray(String[]::new), length, project.getStatus(), programs);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(project.getId());
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(project.getId(), tf));
+            entries.put(project.getId(), entry);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long projectId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(projectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Projects matching any term of {@code query}, optionally restricted to a program and/or status,
+     * ordered by descending score and then id.
+     */
+    public Hits search(String query, Program program, ProjectStatus status, int offset, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return new Hits(List.of(), 0);
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int n = entries.size();
+            if (n == 0) {
+                return new Hits(List.of(), 0);
+            }
+            double averageLength = (double) totalLength / n;
+            for (String term : terms) {
+                Map<Long, Integer> docs = postings.get(term);
+                if (docs == null) continue;
+                double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+                docs.forEach((id, tf) -> {
+                    Entry entry = entries.get(id);
+                    if (status != null && entry.status() != status) return;
+                    if (program != null && !entry.programs().contains(program)) return;
+                    double norm = K1 * (1 - B + B * entry.length() / averageLength);
+                    scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int wanted = (int) Math.min((long) offset + limit, scores.size());
+        if (offset >= wanted) {
+            return new Hits(List.of(), scores.size());
+        }
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        // keep only the best 'wanted' matches rather than sorting all of them
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(wanted + 1, ranking.reversed());
+        for (Map.Entry<Long, Double> scored : scores.entrySet()) {
+            top.add(scored);
+            if (top.size() > wanted) top.poll();
+        }
+        List<Map.Entry<Long, Double>> best = new ArrayList<>(top);
+        best.sort(ranking);
+        List<Long> ids = best.subList(offset, wanted).stream().map(Map.Entry::getKey).toList();
+        return new Hits(ids, scores.size());
+    }
+
+    private void removeLocked(Long projectId) {
+        Entry previous = entries.remove(projectId);
+        if (previous == null) return;
+        for (String term : previous.terms()) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null && docs.remove(projectId) != null && docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    /** Lower-cased words of the text, split on anything that is not a letter or digit, minus stop words. */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -1,46 +1,88 @@
 package vv.pms.report;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import vv.pms.allocation.AllocationService;
 import vv.pms.allocation.ProjectAllocation;
+import vv.pms.report.internal.ReportBlobStore;
 import vv.pms.report.internal.ReportSubmissionRepository;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ReportService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+
     private final ReportSubmissionRepository repository;
     private final SystemConfigService systemConfigService;
     private final AllocationService allocationService;
-    private final Path fileStorageLocation;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportBlobStore blobStore;
+    private final long defaultMaxFileBytes;
 
     public ReportService(ReportSubmissionRepository repository,
                          SystemConfigService systemConfigService,
-                         AllocationService allocationService) {
+                         AllocationService allocationService,
+                         PlatformTransactionManager transactionManager,
+                         ReportBlobStore blobStore,
+                         @Value("${spring.servlet.multipart.max-file-size:10MB}") DataSize maxFileSize) {
         this.repository = repository;
         this.systemConfigService = systemConfigService;
         this.allocationService = allocationService;
-        
-        // Configurable path, could be injected via properties
-        this.fileStorageLocation = Paths.get("uploads/reports").toAbsolutePath().normalize();
-        try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
-        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blobStore = blobStore;
+        this.defaultMaxFileBytes = maxFileSize.toBytes();
     }
 
+    /** Submits a report uploaded through the multipart form. */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void submitReport(Long projectId, Long studentId, String filename, MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            submitReport(projectId, studentId, filename, content);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + filename + ". Please try again!", ex);
+        }
+    }
+
+    /**
+     * Submits a report read straight from {@code content}. The file is streamed to disk and moved into
+     * place before the submission row is written, so no transaction (or connection) is held while the
+     * upload is in flight. Each call appends a new version; older versions and their files are
+     * pruned by {@code ReportHousekeepingJob}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void submitReport(Long projectId, Long studentId, String filename, InputStream content) {
         // 1. Check Deadline
         if (!systemConfigService.isBeforeDeadline()) {
             throw new IllegalStateException("The submission deadline has passed.");
@@ -52,56 +94,112 @@ public class ReportService {
             throw new IllegalStateException("Student is not assigned to this project.");
         }
 
-        // 3. Validate File
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("Cannot submit an empty file.");
-        }
-        if (!filename.toLowerCase().endsWith(".pdf")) {
+        // 3. Validate File name; the contents are checked while streaming
+        if (filename == null || !filename.toLowerCase().endsWith(".pdf")) {
              throw new IllegalArgumentException("Only PDF files are allowed.");
         }
 
+        // 4. Save File
+        StoredFile stored;
         try {
-            // 4. Save File
-            // Ensure directory exists
-            if (!Files.exists(this.fileStorageLocation)) {
-                Files.createDirectories(this.fileStorageLocation);
-            }
+            stored = store(content);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + filename + ". Please try again!", ex);
+        }
+
+        // 5. Update Database: every submission is a new version, so this is a single insert
+        ReportSubmission submission = new ReportSubmission(projectId, filename, stored.path().toString(), LocalDateTime.now(), studentId);
+        submission.setContentHash(stored.sha256());
+        submission.setFileSize(stored.size());
+        transactionTemplate.executeWithoutResult(status -> repository.save(submission));
+    }
 
-            // Normalize filename
-            String safeFilename = projectId + "_" + System.currentTimeMillis() + "_" + filename;
-            Path targetLocation = this.fileStorageLocation.resolve(safeFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            // 5. Update Database
-            // Check if submission already exists for this project
-            Optional<ReportSubmission> existingSubmission = repository.findByProjectId(projectId);
-            ReportSubmission submission;
-            if (existingSubmission.isPresent()) {
-                submission = existingSubmission.get();
-                // Delete old file if needed, or just overwrite reference
-                try {
-                    Files.deleteIfExists(Paths.get(submission.getFilePath()));
-                } catch (IOException e) {
-                    // Log warning but continue
-                    System.err.println("Could not delete old file: " + submission.getFilePath());
+    private record StoredFile(Path path, String sha256, long size) {}
+
+    /**
+     * Streams the upload into a temp file, rejecting it as soon as the header is not a PDF or the
+     * size limit is passed, and commits it to the blob store under the SHA-256 computed on the way
+     * through. The hash also serves as the download ETag.
+     */
+    private StoredFile store(InputStream content) throws IOException {
+        Path temp = blobStore.createTempFile();
+        MessageDigest digest = sha256();
+        long size;
+        try {
+            try (ReadableByteChannel in = Channels.newChannel(new DigestInputStream(content, digest));
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long maxFileBytes = maxFileBytes();
+                ByteBuffer header = ByteBuffer.allocate(PDF_MAGIC.length);
+                while (header.hasRemaining() && in.read(header) >= 0) {
+                    // keep reading until the header is complete or the stream ends
+                }
+                header.flip();
+                if (!header.hasRemaining()) {
+                    throw new IllegalArgumentException("Cannot submit an empty file.");
+                }
+                if (!header.equals(ByteBuffer.wrap(PDF_MAGIC))) {
+                    throw new IllegalArgumentException("Only PDF files are allowed.");
+                }
+                size = out.write(header);
+                long transferred;
+                while ((transferred = out.transferFrom(in, size, maxFileBytes - size + 1)) > 0) {
+                    size += transferred;
+                    if (size > maxFileBytes) {
+                        throw new IllegalArgumentException("The file exceeds the maximum size of " + maxFileBytes / (1024 * 1024) + "MB.");
+                    }
                 }
-                submission.setFilename(filename);
-                submission.setFilePath(targetLocation.toString());
-                submission.setSubmittedAt(LocalDateTime.now());
-                submission.setSubmittedByStudentId(studentId);
-            } else {
-                submission = new ReportSubmission(projectId, filename, targetLocation.toString(), LocalDateTime.now(), studentId);
             }
-            repository.save(submission);
 
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + filename + ". Please try again!", ex);
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            return new StoredFile(blobStore.commit(temp, sha256), sha256, size);
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(temp);
+            throw ex;
+        }
+    }
+
+    /** Upload limit: the REPORT_MAX_FILE_SIZE_MB setting when present, otherwise the multipart limit. */
+    private long maxFileBytes() {
+        int megabytes = systemConfigService.getInt(SystemConfigService.REPORT_MAX_FILE_SIZE_MB, 0);
+        return megabytes > 0 ? megabytes * 1024L * 1024L : defaultMaxFileBytes;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete file {}", path, e);
+        }
+    }
+
+    /** Latest version of the project's report. */
     @Transactional(readOnly = true)
     public Optional<ReportSubmission> getReportByProject(Long projectId) {
-        return repository.findByProjectId(projectId);
+        return repository.findFirstByProjectIdOrderByIdDesc(projectId);
+    }
+
+    /** Latest version of each given project's report, by project id; projects without one are absent. */
+    @Transactional(readOnly = true)
+    public Map<Long, ReportSubmission> getLatestReports(Set<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findLatestByProjectIdIn(projectIds).stream()
+                .collect(Collectors.toMap(ReportSubmission::getProjectId, Function.identity()));
+    }
+
+    /** Every retained version of the project's report, newest first. */
+    @Transactional(readOnly = true)
+    public List<ReportSubmission> getReportHistory(Long projectId) {
+        return repository.findByProjectIdOrderByIdDesc(projectId);
     }
 
     @Transactional(readOnly = true)
@@ -109,13 +207,12 @@ public class ReportService {
         if (!systemConfigService.isBeforeDeadline()) {
             return false;
         }
-        return allocationService.findAllocationByStudentId(studentId).isPresent();
+        return allocationService.findProjectIdByStudentId(studentId).isPresent();
     }
 
     @Transactional(readOnly = true)
     public String getSubmissionStatus(Long studentId) {
-        Optional<ProjectAllocation> allocation = allocationService.findAllocationByStudentId(studentId);
-        if (allocation.isEmpty()) {
+        if (allocationService.findProjectIdByStudentId(studentId).isEmpty()) {
             return "Not assigned to a project";
         }
         
@@ -3,15 +3,21 @@ package vv.pms.report;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * One uploaded version of a project's report. Submissions are append-only; the latest version of a
+ * project is the row with the highest id, found through the (project_id, id) index.
+ */
 @Entity
-@Table(name = "report_submissions")
+@Table(name = "report_submissions", indexes = {
+        @Index(name = "idx_report_submissions_project", columnList = "projectId, id")
+})
 public class ReportSubmission {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private Long projectId;
 
     @Column(nullable = false)
@@ -26,6 +32,13 @@ public class ReportSubmission {
     @Column(nullable = false)
     private Long submittedByStudentId;
 
+    // SHA-256 of the stored file, hex encoded; null for submissions stored before hashes were recorded
+    @Column(length = 64)
+    private String contentHash;
+
+    // Size of the stored file in bytes; null for submissions stored before sizes were recorded
+    private Long fileSize;
+
     public ReportSubmission() {}
 
     public ReportSubmission(Long projectId, String filename, String filePath, LocalDateTime submittedAt, Long submittedByStudentId) {
@@ -83,4 +96,20 @@ public class ReportSubmission {
     public void setSubmittedByStudentId(Long submittedByStudentId) {
         this.submittedByStudentId = submittedByStudentId;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
 }
@@ -0,0 +1,9 @@
+package vv.pms.report;
+
+/**
+ * Published when a system setting is written. Listeners run after the change commits; use it to
+ * refresh anything derived from a setting instead of re-reading it on every request.
+ *
+ * @param previousValue the raw value before the change, or null when the key was new
+ */
+public record SystemConfigChanged(String key, String previousValue, String newValue) {}
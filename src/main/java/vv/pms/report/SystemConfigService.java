@@ -1,42 +1,236 @@
 package vv.pms.report;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import vv.pms.report.internal.SystemConfigRepository;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * System-wide settings stored as key/value rows, read through typed getters.
+ *
+ * Reads are served from an immutable in-memory snapshot of the whole table, loaded with one query
+ * (eagerly once the application is ready) and parsed at most once per key, so checks such as
+ * {@link #isBeforeDeadline()} are a volatile read plus a comparison. The getters are deliberately not
+ * transactional: only a snapshot miss opens a (read-only) transaction and borrows a connection. Writes retire the snapshot and
+ * publish a {@link SystemConfigChanged} event; a transaction that changed a setting reads straight
+ * from the database until it completes, so uncommitted values are never published to other threads.
+ *
+ * Values of the known keys below are checked when they are written. A value that still fails to parse
+ * (say one edited directly in the database) is logged once per snapshot and read as absent, so the
+ * typed getters fall back to their defaults.
+ */
 @Service
-@Transactional
 public class SystemConfigService {
 
-    private static final String REPORT_DEADLINE_KEY = "REPORT_DEADLINE";
+    private static final Logger log = LoggerFactory.getLogger(SystemConfigService.class);
+
+    /** Report submission deadline, an ISO local date-time. */
+    public static final String REPORT_DEADLINE = "REPORT_DEADLINE";
+    /** Largest report a student may upload, in megabytes. */
+    public static final String REPORT_MAX_FILE_SIZE_MB = "REPORT_MAX_FILE_SIZE_MB";
+    /** Number of report versions kept per project. */
+    public static final String REPORT_KEEP_VERSIONS = "REPORT_KEEP_VERSIONS";
+
+    /**
+     * Immutable view of every config row. {@code generation} is the write count it was loaded under;
+     * a snapshot older than the latest write is never served. Parsed values are memoized per key.
+     */
+    private record Snapshot(long generation, Map<String, String> values, Map<String, Object> parsed) {
+
+        private static final Object MALFORMED = new Object();
+
+        @SuppressWarnings("unchecked")
+        <T> Optional<T> get(String key, Function<String, T> parser) {
+            String raw = values.get(key);
+            if (raw == null) return Optional.empty();
+            Object value = parsed.computeIfAbsent(key, k -> {
+                try {
+                    return parser.apply(raw);
+                } catch (RuntimeException e) {
+                    log.warn("Ignoring malformed value '{}' of config key {}", raw, key);
+                    return MALFORMED;
+                }
+            });
+            return value == MALFORMED ? Optional.empty() : Optional.of((T) value);
+        }
+    }
+
     private final SystemConfigRepository repository;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate readTransaction;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
 
-    public SystemConfigService(SystemConfigRepository repository) {
+    public SystemConfigService(SystemConfigRepository repository, ApplicationEventPublisher events,
+                               PlatformTransactionManager transactionManager) {
         this.repository = repository;
+        this.events = events;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
+    /** Loads every setting up front so the first request does not pay for it. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        snapshot();
+    }
+
+    @Transactional
     public void setReportDeadline(LocalDateTime deadline) {
-        String value = deadline.format(DateTimeFormatter.ISO_DATE_TIME);
-        SystemConfig config = repository.findByConfigKey(REPORT_DEADLINE_KEY)
-                .orElse(new SystemConfig(REPORT_DEADLINE_KEY, value));
-        config.setConfigValue(value);
-        repository.save(config);
+        setValue(REPORT_DEADLINE, deadline.format(DateTimeFormatter.ISO_DATE_TIME));
     }
 
-    @Transactional(readOnly = true)
     public Optional<LocalDateTime> getReportDeadline() {
-        return repository.findByConfigKey(REPORT_DEADLINE_KEY)
-                .map(config -> LocalDateTime.parse(config.getConfigValue(), DateTimeFormatter.ISO_DATE_TIME));
+        return snapshot().get(REPORT_DEADLINE, value -> LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME));
     }
 
-    @Transactional(readOnly = true)
     public boolean isBeforeDeadline() {
         return getReportDeadline()
                 .map(deadline -> LocalDateTime.now().isBefore(deadline))
                 .orElse(true); // If no deadline set, assume it's open (or handle as needed, but usually no deadline means no restriction)
     }
+
+    // --- Typed access ---
+
+    /** Raw value of any config key. */
+    public Optional<String> getValue(String key) {
+        return Optional.ofNullable(snapshot().values().get(key));
+    }
+
+    public Optional<Instant> getInstant(String key) {
+        return snapshot().get(key, Instant::parse);
+    }
+
+    public Duration getDuration(String key, Duration defaultValue) {
+        return snapshot().get(key, Duration::parse).orElse(defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return snapshot().<Integer>get(key, Integer::valueOf).orElse(defaultValue);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot().get(key, Boolean::valueOf).orElse(defaultValue);
+    }
+
+    @Transactional
+    public void setInstant(String key, Instant value) {
+        setValue(key, value.toString());
+    }
+
+    @Transactional
+    public void setDuration(String key, Duration value) {
+        setValue(key, value.toString());
+    }
+
+    @Transactional
+    public void setInt(String key, int value) {
+        setValue(key, Integer.toString(value));
+    }
+
+    @Transactional
+    public void setBoolean(String key, boolean value) {
+        setValue(key, Boolean.toString(value));
+    }
+
+    /**
+     * Stores a raw value and publishes {@link SystemConfigChanged} when it differs from the current one.
+     * Throws {@link IllegalArgumentException} when the value does not suit a known key.
+     */
+    @Transactional
+    public void setValue(String key, String value) {
+        Objects.requireNonNull(value, "value");
+        validate(key, value);
+        SystemConfig config = repository.findByConfigKey(key)
+                .orElse(new SystemConfig(key, value));
+        String previous = config.getId() == null ? null : config.getConfigValue();
+        config.setConfigValue(value);
+        repository.save(config);
+        invalidate();
+        if (!value.equals(previous)) {
+            events.publishEvent(new SystemConfigChanged(key, previous, value));
+        }
+    }
+
+    private static void validate(String key, String value) {
+        switch (key) {
+            case REPORT_DEADLINE -> parse(key, value, v -> LocalDateTime.parse(v, DateTimeFormatter.ISO_DATE_TIME));
+            case REPORT_MAX_FILE_SIZE_MB -> atLeast(key, parse(key, value, Integer::valueOf), 0);
+            case REPORT_KEEP_VERSIONS -> atLeast(key, parse(key, value, Integer::valueOf), 1);
+            default -> { }
+        }
+    }
+
+    private static <T> T parse(String key, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for " + key);
+        }
+    }
+
+    private static void atLeast(String key, int value, int min) {
+        if (value < min) {
+            throw new IllegalArgumentException(key + " must be at least " + min);
+        }
+    }
+
+    private Snapshot snapshot() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return load(-1); // this transaction changed a setting: read our own writes, do not publish them
+        }
+        Snapshot current = snapshot;
+        long latest = generation.get();
+        if (current == null || current.generation() != latest) {
+            current = load(latest);
+            snapshot = current;
+        }
+        return current;
+    }
+
+    /** Reads the table in its own read-only transaction, or in the caller's when there is one. */
+    private Snapshot load(long generation) {
+        Map<String, String> values = readTransaction.execute(status -> repository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(SystemConfig::getConfigKey, SystemConfig::getConfigValue)));
+        return new Snapshot(generation, values, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Retires the snapshot now and again once the surrounding transaction completes, so a snapshot
+     * loaded by another thread while the write was in flight does not outlive it.
+     */
+    private void invalidate() {
+        generation.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SystemConfigService.this);
+                generation.incrementAndGet();
+            }
+        });
+    }
 }
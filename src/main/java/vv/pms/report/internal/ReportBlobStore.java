@@ -0,0 +1,108 @@
+package vv.pms.report.internal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for report files.
+ *
+ * A blob is named by the SHA-256 of its content and sharded two directory levels deep
+ * ({@code blobs/ab/cd/abcd...}), so identical uploads share one file and no directory grows large.
+ * Uploads are written to {@code blobs/tmp} first and renamed into place once their hash is known.
+ * Blobs are never deleted on the request path; {@link #collect} removes the ones no submission
+ * references any more.
+ */
+@Component
+public class ReportBlobStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path staging;
+
+    public ReportBlobStore(@Value("${pms.reports.storage-dir:uploads/reports}") Path storageDir) {
+        this.root = storageDir.toAbsolutePath().normalize().resolve("blobs");
+        this.staging = root.resolve("tmp");
+        try {
+            Files.createDirectories(staging);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+    }
+
+    /** A new empty file on the same file system as the blobs, so {@link #commit} is a rename. */
+    public Path createTempFile() throws IOException {
+        Files.createDirectories(staging);
+        return Files.createTempFile(staging, "upload-", ".tmp");
+    }
+
+    /**
+     * Moves a fully written temp file into place under its hash and returns the blob path.
+     * When the blob already exists the temp file is dropped and the blob is touched, which
+     * keeps it clear of a collection that has not yet seen the new reference.
+     */
+    public Path commit(Path temp, String sha256) throws IOException {
+        Path target = resolve(sha256);
+        if (Files.exists(target)) {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            Files.deleteIfExists(temp);
+            return target;
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    public Path resolve(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    /**
+     * Deletes blobs not in {@code referenced} and abandoned temp files, skipping anything modified
+     * after {@code cutoff} so uploads whose submission row is still being written survive.
+     *
+     * @return the number of files deleted
+     */
+    public int collect(Set<String> referenced, Instant cutoff) throws IOException {
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(root)) {
+            candidates = files.filter(Files::isRegularFile)
+                    .filter(p -> p.startsWith(staging) || !referenced.contains(p.getFileName().toString()))
+                    .toList();
+        }
+        int deleted = 0;
+        for (Path file : candidates) {
+            if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /** Bytes used by committed blobs, excluding uploads still in flight. */
+    public long totalSize() throws IOException {
+        List<Path> blobs;
+        try (Stream<Path> files = Files.walk(root)) {
+            blobs = files.filter(p -> !p.startsWith(staging)).filter(Files::isRegularFile).toList();
+        }
+        long total = 0;
+        for (Path blob : blobs) {
+            total += Files.size(blob);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,86 @@
+package vv.pms.report.internal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+import vv.pms.report.SystemConfigChanged;
+import vv.pms.report.SystemConfigService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background upkeep for submitted reports, kept off the upload path:
+ * <ol>
+ *   <li>prunes each project's history down to the newest {@code REPORT_KEEP_VERSIONS} versions
+ *       (falling back to {@code pms.reports.retention.keep-versions}),</li>
+ *   <li>deletes blobs no remaining submission references (a blob's reference count is the number of
+ *       submissions carrying its hash),</li>
+ *   <li>records the bytes left on disk as the {@code pms.reports.storage.bytes} gauge.</li>
+ * </ol>
+ * Changing the retention setting triggers a run once the change has committed, on the async task
+ * executor rather than the request thread, instead of waiting for the next interval.
+ */
+@Component
+public class ReportHousekeepingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportHousekeepingJob.class);
+
+    private final ReportSubmissionRepository repository;
+    private final ReportBlobStore blobStore;
+    private final SystemConfigService systemConfigService;
+    private final int defaultKeepVersions;
+    private final Duration gracePeriod;
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    public ReportHousekeepingJob(ReportSubmissionRepository repository,
+                                 ReportBlobStore blobStore,
+                                 SystemConfigService systemConfigService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${pms.reports.retention.keep-versions:5}") int keepVersions,
+                                 @Value("${pms.reports.gc.grace-period:PT1H}") Duration gracePeriod) {
+        if (keepVersions < 1) {
+            throw new IllegalArgumentException("pms.reports.retention.keep-versions must be at least 1");
+        }
+        this.repository = repository;
+        this.blobStore = blobStore;
+        this.systemConfigService = systemConfigService;
+        this.defaultKeepVersions = keepVersions;
+        this.gracePeriod = gracePeriod;
+        Gauge.builder("pms.reports.storage.bytes", storedBytes, AtomicLong::get)
+                .description("Bytes used by stored report files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${pms.reports.gc.interval:PT1H}", fixedDelayString = "${pms.reports.gc.interval:PT1H}")
+    public void run() {
+        int keepVersions = Math.max(1, systemConfigService.getInt(SystemConfigService.REPORT_KEEP_VERSIONS, defaultKeepVersions));
+        int pruned = repository.deleteVersionsBeyond(keepVersions);
+        Set<String> referenced = repository.findReferencedContentHashes();
+        try {
+            int deleted = blobStore.collect(referenced, Instant.now().minus(gracePeriod));
+            storedBytes.set(blobStore.totalSize());
+            if (pruned > 0 || deleted > 0) {
+                log.info("Pruned {} old report version(s), deleted {} unreferenced file(s)", pruned, deleted);
+            }
+        } catch (IOException ex) {
+            log.warn("Report file collection failed", ex);
+        }
+    }
+
+    @ApplicationModuleListener
+    void on(SystemConfigChanged event) {
+        if (SystemConfigService.REPORT_KEEP_VERSIONS.equals(event.key())) {
+            run();
+        }
+    }
+}
@@ -1,12 +1,51 @@
 package vv.pms.report.internal;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import vv.pms.report.ReportSubmission;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ReportSubmissionRepository extends JpaRepository<ReportSubmission, Long> {
-    Optional<ReportSubmission> findByProjectId(Long projectId);
+
+    // Keeps the IN list of each delete statement short
+    int DELETE_BATCH_SIZE = 500;
+
+    // Latest version of a project's report
+    Optional<ReportSubmission> findFirstByProjectIdOrderByIdDesc(Long projectId);
+
+    // Latest version of each given project's report: the one with no later id, found through the (projectId, id) index
+    @Query("SELECT r FROM ReportSubmission r WHERE r.projectId IN :projectIds " +
+            "AND NOT EXISTS (SELECT 1 FROM ReportSubmission later WHERE later.projectId = r.projectId AND later.id > r.id)")
+    List<ReportSubmission> findLatestByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    // Every version of a project's report, newest first
+    List<ReportSubmission> findByProjectIdOrderByIdDesc(Long projectId);
+
+    // Ids of all but the newest {@code keep} versions of every project's report
+    @Query("SELECT r.id FROM ReportSubmission r WHERE (SELECT COUNT(n) FROM ReportSubmission n " +
+            "WHERE n.projectId = r.projectId AND n.id > r.id) >= :keep")
+    List<Long> findIdsOfVersionsBeyond(@Param("keep") long keep);
+
+    // Drops all but the newest {@code keep} versions of every project's report. The ids are selected first
+    // because MySQL rejects a DELETE whose subquery reads the table being deleted from.
+    @Transactional
+    default int deleteVersionsBeyond(long keep) {
+        List<Long> ids = findIdsOfVersionsBeyond(keep);
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            deleteAllByIdInBatch(ids.subList(from, Math.min(from + DELETE_BATCH_SIZE, ids.size())));
+        }
+        return ids.size();
+    }
+
+    // Every blob hash still referenced by a submission
+    @Query("SELECT DISTINCT r.contentHash FROM ReportSubmission r WHERE r.contentHash IS NOT NULL")
+    Set<String> findReferencedContentHashes();
 }
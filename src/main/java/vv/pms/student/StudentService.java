@@ -2,10 +2,20 @@
 
 package vv.pms.student;
 
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vv.pms.student.internal.StudentRepository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +47,26 @@ public class StudentService {
         return repository.save(newStudent);
     }
 
+    /**
+     * Saves many new students at once; the inserts are sent in JDBC batches. Callers check uniqueness
+     * up front (see {@link #findAllStudentNumbers()} and {@link #findAllEmails()}).
+     */
+    public List<Student> addStudents(List<Student> students) {
+        return repository.saveAll(students);
+    }
+
+    /** University IDs of all students, as a modifiable set. */
+    @Transactional(readOnly = true)
+    public Set<String> findAllStudentNumbers() {
+        return new HashSet<>(repository.findAllStudentNumbers());
+    }
+
+    /** Emails of all students, as a modifiable set. */
+    @Transactional(readOnly = true)
+    public Set<String> findAllEmails() {
+        return new HashSet<>(repository.findAllEmails());
+    }
+
     /**
      * Retrieves a student by their primary ID. This is the API used by the Allocation module.
      */
@@ -71,6 +101,47 @@ public class StudentService {
         repository.save(student);
     }
 
+    /**
+     * Marks the student as having a project if they do not have one yet, as a single conditional update,
+     * so two concurrent applications by the same student cannot both succeed.
+     *
+     * @return false if the student already had a project
+     */
+    public boolean claimProject(Long studentId) {
+        if (repository.claimProject(studentId) == 0) {
+            return false;
+        }
+        // keep an already loaded instance in step with the row
+        repository.findById(studentId).ifPresent(s -> s.setHasProject(true));
+        return true;
+    }
+
+    /**
+     * {@link #claimProject} for many students in a single update. Used by the Allocation module's bulk import.
+     *
+     * @return how many of the students were claimed; fewer than requested means some already had a project
+     */
+    public int claimProjects(Set<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return 0;
+        }
+        int claimed = repository.claimProjects(studentIds);
+        repository.findAllById(studentIds).forEach(s -> s.setHasProject(true));
+        return claimed;
+    }
+
+    /**
+     * Sets the project status for many students at once. Used by the Allocation module's batch allocation.
+     */
+    public void updateProjectStatuses(Set<Long> studentIds, boolean hasProject) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return;
+        }
+        List<Student> students = repository.findAllById(studentIds);
+        students.forEach(s -> s.setHasProject(hasProject));
+        repository.saveAll(students);
+    }
+
     /** Finds all Students for a given set of IDs and returns them in a Map for fast lookups. */
     @Transactional(readOnly = true)
     public Map<Long, Student> findByIds(Set<Long> ids) {
@@ -80,9 +151,39 @@ public class StudentService {
     
     @Transactional(readOnly = true)
     public List<Student> findStudentsWithoutProject() {
-        return repository.findAll().stream()
-                .filter(s -> !s.isHasProject())
-                .toList();
+        return repository.findByHasProjectFalse();
+    }
+
+    /**
+     * One page of students in name order, filtered and paged in the database. Every filter is optional:
+     * {@code hasProject} on whether the student is on a team, {@code program}, and {@code ids} to
+     * restrict the page to the given students.
+     */
+    @Transactional(readOnly = true)
+    public Page<Student> findStudents(Boolean hasProject, Program program, Set<Long> ids, Pageable pageable) {
+        if (ids != null && ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Specification<Student> filter = (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasProject != null) predicates.add(cb.equal(root.get("hasProject"), hasProject));
+            if (program != null) predicates.add(cb.equal(root.get("program"), program));
+            if (ids != null) predicates.add(root.get("id").in(ids));
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+        Sort order = Sort.by("name", "id");
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(repository.findAll(filter, order));
+        }
+        return repository.findAll(filter, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), order));
+    }
+
+    /** Names of all students on a team, by id, in name order. */
+    @Transactional(readOnly = true)
+    public Map<Long, String> findNamesOfStudentsWithProject() {
+        Map<Long, String> names = new LinkedHashMap<>();
+        repository.findIdsAndNamesWithProject().forEach(row -> names.put((Long) row[0], (String) row[1]));
+        return names;
     }
 
     // --- Custom Exception ---
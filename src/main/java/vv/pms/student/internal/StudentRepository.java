@@ -1,14 +1,40 @@
 package vv.pms.student.internal;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import vv.pms.student.Student;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
     List<Student> findByHasProjectFalse();
     Optional<Student> findByStudentId(String studentId);
     Optional<Student> findByEmail(String email);
+
+    // Conditional update: only one of several concurrent claims for the same student can match
+    @Modifying
+    @Query("UPDATE Student s SET s.hasProject = true WHERE s.id = :id AND s.hasProject = false")
+    int claimProject(@Param("id") Long id);
+
+    // Same claim for many students in one statement; the count tells whether any was taken meanwhile
+    @Modifying
+    @Query("UPDATE Student s SET s.hasProject = true WHERE s.id IN :ids AND s.hasProject = false")
+    int claimProjects(@Param("ids") Collection<Long> ids);
+
+    // Natural keys of every student, so a bulk import can check uniqueness without a query per row
+    @Query("SELECT s.studentId FROM Student s")
+    List<String> findAllStudentNumbers();
+
+    @Query("SELECT s.email FROM Student s")
+    List<String> findAllEmails();
+
+    // (id, name) of every student on a team, without loading the entities
+    @Query("SELECT s.id, s.name FROM Student s WHERE s.hasProject = true ORDER BY s.name, s.id")
+    List<Object[]> findIdsAndNamesWithProject();
 }
@@ -11,6 +11,8 @@ import vv.pms.allocation.AllocationService;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/allocations")
@@ -23,24 +25,24 @@ public class AllocationController {
     }
 
     @PostMapping("/apply")
-    public ResponseEntity<Map<String, Object>> applyToProject(@RequestParam Long projectId, HttpSession session) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> applyToProject(@RequestParam Long projectId, HttpSession session) {
         Map<String, Object> resp = new HashMap<>();
 
         if (session == null) {
             resp.put("error", "Not authenticated");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp));
         }
 
         Object roleObj = session.getAttribute("currentUserRole");
         if (roleObj == null || !"STUDENT".equalsIgnoreCase(roleObj.toString())) {
             resp.put("error", "Only students may apply to projects");
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).body(resp));
         }
 
         Object idObj = session.getAttribute("currentUserId");
         if (idObj == null) {
             resp.put("error", "Missing user id in session");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp));
         }
 
         Long studentId;
@@ -49,38 +51,41 @@ public class AllocationController {
             else studentId = Long.parseLong(idObj.toString());
         } catch (Exception e) {
             resp.put("error", "Invalid user id in session");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp));
         }
 
-        try {
-            allocationService.assignStudentToProject(projectId, studentId);
-            resp.put("message", "applied");
-            return ResponseEntity.ok(resp);
-        } catch (RuntimeException e) {
-            resp.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
-        }
+        // the request thread is released while the project's writer works through its queue
+        return allocationService.submitApplication(projectId, studentId)
+                .handle((allocation, failure) -> {
+                    if (failure == null) {
+                        resp.put("message", "applied");
+                        return ResponseEntity.ok(resp);
+                    }
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    resp.put("error", cause.getMessage());
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
+                });
     }
 
     @PostMapping("/unapply")
-    public ResponseEntity<Map<String, Object>> unapplyFromProject(@RequestParam Long projectId, HttpSession session) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> unapplyFromProject(@RequestParam Long projectId, HttpSession session) {
         Map<String, Object> resp = new HashMap<>();
 
         if (session == null) {
             resp.put("error", "Not authenticated");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp));
         }
 
         Object roleObj = session.getAttribute("currentUserRole");
         if (roleObj == null || !"STUDENT".equalsIgnoreCase(roleObj.toString())) {
             resp.put("error", "Only students may unapply from projects");
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).body(resp));
         }
 
         Object idObj = session.getAttribute("currentUserId");
         if (idObj == null) {
             resp.put("error", "Missing user id in session");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(resp));
         }
 
         Long studentId;
@@ -89,17 +94,19 @@ public class AllocationController {
             else studentId = Long.parseLong(idObj.toString());
         } catch (Exception e) {
             resp.put("error", "Invalid user id in session");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp));
         }
 
-        try {
-            allocationService.unassignStudentFromProject(projectId, studentId);
-            resp.put("message", "unapplied");
-            return ResponseEntity.ok(resp);
-        } catch (RuntimeException e) {
-            resp.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
-        }
+        return allocationService.submitWithdrawal(projectId, studentId)
+                .handle((allocation, failure) -> {
+                    if (failure == null) {
+                        resp.put("message", "unapplied");
+                        return ResponseEntity.ok(resp);
+                    }
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    resp.put("error", cause.getMessage());
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(resp);
+                });
     }
 
 
@@ -1,15 +1,17 @@
 package vv.pms.ui;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import vv.pms.allocation.AllocationBoardRow;
 import vv.pms.allocation.AllocationService;
-import vv.pms.allocation.ProjectAllocation;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.ProjectService;
 import vv.pms.student.StudentService;
-import vv.pms.student.Student;
-import vv.pms.project.Project;
 
 import java.util.List;
 
@@ -32,33 +34,36 @@ public class AllocationUI {
         this.studentService = studentService;
     }
 
-    @GetMapping
-    public String listAllocations(Model model) {
-        List<ProjectAllocation> allocations = allocationService.findAllAllocations();
-        List<Project> projects = projectService.findAllProjects();
-        var professors = professorService.findAllProfessors();
-        List<Student> students = studentService.findAllStudents();
+    private static final int PAGE_SIZE = 25;
 
-        // Resolve titles/names for UI
-        for (ProjectAllocation alloc : allocations) {
-            projects.stream()
-                    .filter(p -> p.getId().equals(alloc.getProjectId()))
-                    .findFirst()
-                    .ifPresent(p -> alloc.setProjectTitle(p.getTitle()));
+    @GetMapping
+    public String listAllocations(Model model,
+                                  @RequestParam(required = false) String q,
+                                  @RequestParam(required = false) Long professorId,
+                                  @PageableDefault(size = PAGE_SIZE) Pageable pageable) {
+        Page<AllocationBoardRow> allocationsPage = allocationService.findAllocationBoard(q, professorId, pageable);
 
-            professors.stream()
-                    .filter(prof -> prof.getId().equals(alloc.getProfessorId()))
-                    .findFirst()
-                    .ifPresent(prof -> alloc.setProfessorName(prof.getName()));
-        }
+        // every assigned student, not just those on this page, for the unassign form
+        List<AllocationBoardRow.AssignedStudent> assignedStudents = studentService.findNamesOfStudentsWithProject()
+                .entrySet().stream()
+                .map(e -> new AllocationBoardRow.AssignedStudent(e.getKey(), e.getValue()))
+                .toList();
 
-        model.addAttribute("allocations", allocations);
-        model.addAttribute("projects", projects);
-        model.addAttribute("professors", professors);
-        model.addAttribute("students", students);
+        model.addAttribute("allocationsPage", allocationsPage);
+        model.addAttribute("allocations", allocationsPage.getContent());
+        model.addAttribute("projects", projectService.findAllProjects());
+        model.addAttribute("professors", professorService.findAllProfessors());
+        model.addAttribute("unassignedStudents", studentService.findStudentsWithoutProject());
+        model.addAttribute("assignedStudents", assignedStudents);
+        model.addAttribute("q", q);
+        model.addAttribute("selectedProfessorId", professorId);
         return "allocations";
     }
 
+    private String listAllocations(Model model) {
+        return listAllocations(model, null, null, PageRequest.of(0, PAGE_SIZE));
+    }
+
     @PostMapping("/create")
     public String createAllocation(@RequestParam Long projectId,
                                    @RequestParam Long professorId,
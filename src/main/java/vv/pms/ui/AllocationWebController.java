@@ -1,9 +1,12 @@
 package vv.pms.ui;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.BulkAllocationReport;
+import vv.pms.allocation.BulkAllocationRequest;
 import vv.pms.allocation.ProjectAllocation;
 
 import java.util.List;
@@ -12,6 +15,8 @@ import java.util.List;
 @RequestMapping("/api/allocations")
 public class AllocationWebController {
 
+    private static final int MAX_BULK_ITEMS = 20_000;
+
     private final AllocationService allocationService;
 
     public AllocationWebController(AllocationService allocationService) {
@@ -77,6 +82,25 @@ public class AllocationWebController {
         }
     }
 
+    /**
+     * Applies many professor and student assignments in one request and reports the outcome of each.
+     * Rejected items do not stop the others; the whole batch is refused if it is too large, and answered
+     * with 409 if the allocations it touches were changed concurrently.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> applyBulk(@RequestBody BulkAllocationRequest request) {
+        if (request.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("At most " + MAX_BULK_ITEMS + " assignments per request.");
+        }
+        try {
+            BulkAllocationReport report = allocationService.applyBulk(request);
+            return ResponseEntity.ok(report);
+        } catch (AllocationService.AllocationStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/best-effort")
     public ResponseEntity<?> runBestEffortAllocation() {
         allocationService.runBestEffortAllocation();
@@ -0,0 +1,64 @@
+package vv.pms.ui;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import vv.pms.coordinator.ExportFormat;
+import vv.pms.coordinator.ExportService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Coordinator exports of the term's allocations, presentation schedule and report status as CSV or
+ * JSON. Records are written to the response as they are read from the database.
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/{kind}")
+    public void export(@PathVariable String kind,
+                       @RequestParam(defaultValue = "csv") String format,
+                       HttpSession session,
+                       HttpServletResponse response) throws IOException {
+        Object role = session == null ? null : session.getAttribute("currentUserRole");
+        if (role == null || !"COORDINATOR".equalsIgnoreCase(role.toString())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Only coordinators may export data");
+            return;
+        }
+        Optional<ExportFormat> exportFormat = ExportFormat.of(format);
+        if (exportFormat.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Format must be csv or json");
+            return;
+        }
+        if (!kind.equals("allocations") && !kind.equals("presentations") && !kind.equals("reports")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown export: " + kind);
+            return;
+        }
+
+        ExportFormat f = exportFormat.get();
+        response.setContentType(f.contentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(kind + "." + f.extension()).build().toString());
+        OutputStream out = response.getOutputStream();
+        switch (kind) {
+            case "allocations" -> exportService.exportAllocations(f, out);
+            case "presentations" -> exportService.exportPresentations(f, out);
+            default -> exportService.exportReportStatus(f, out);
+        }
+    }
+}
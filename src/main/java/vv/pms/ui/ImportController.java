@@ -0,0 +1,81 @@
+package vv.pms.ui;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import vv.pms.coordinator.BulkImportService;
+import vv.pms.coordinator.ImportFormat;
+import vv.pms.coordinator.ImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Coordinator bulk import of students, professors or projects. The file may be sent as a multipart
+ * upload ({@code file}) or as the raw request body with a {@code text/csv} or {@code application/x-ndjson}
+ * content type; the raw form is streamed straight from the connection.
+ */
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    private final BulkImportService importService;
+
+    public ImportController(BulkImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(value = "/{kind}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importFile(@PathVariable String kind,
+                                        @RequestParam("file") MultipartFile file,
+                                        HttpSession session) throws IOException {
+        if (!isCoordinator(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only coordinators may import data");
+        }
+        Optional<ImportFormat> format = ImportFormat.detect(file.getContentType(), file.getOriginalFilename());
+        if (format.isEmpty()) {
+            return ResponseEntity.badRequest().body("Upload a .csv or .ndjson file");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return runImport(kind, in, format.get());
+        }
+    }
+
+    @PostMapping(value = "/{kind}", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importBody(@PathVariable String kind,
+                                        HttpServletRequest request,
+                                        HttpSession session) throws IOException {
+        if (!isCoordinator(session)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only coordinators may import data");
+        }
+        ImportFormat format = ImportFormat.detect(request.getContentType(), null).orElseThrow();
+        return runImport(kind, request.getInputStream(), format);
+    }
+
+    private ResponseEntity<?> runImport(String kind, InputStream in, ImportFormat format) throws IOException {
+        ImportReport report = switch (kind) {
+            case "students" -> importService.importStudents(in, format);
+            case "professors" -> importService.importProfessors(in, format);
+            case "projects" -> importService.importProjects(in, format);
+            default -> null;
+        };
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Unknown import: " + kind);
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    private static boolean isCoordinator(HttpSession session) {
+        Object role = session == null ? null : session.getAttribute("currentUserRole");
+        return role != null && "COORDINATOR".equalsIgnoreCase(role.toString());
+    }
+}
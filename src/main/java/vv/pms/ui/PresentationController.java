@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import vv.pms.presentation.PresentationService;
 import vv.pms.presentation.Room;
 import vv.pms.presentation.RoomService;
@@ -41,22 +42,17 @@ public class PresentationController {
         List<Room> rooms = roomService.getAllRooms();
         var rows = presentationService.buildPresentationRows();
 
-        Map<Long, List<PresentationService.SlotOption>> slotOptionsByProject = new HashMap<>();
+        // options are shown for the booked room, or the first room for projects not booked yet
+        Map<Long, Long> roomByProject = new HashMap<>();
         for (var row : rows) {
-            Long roomId = row.roomId();
-            if (roomId != null) {
-                slotOptionsByProject.put(
-                        row.projectId(),
-                        presentationService.getAvailableSlots(row.projectId(), roomId)
-                );
+            if (row.roomId() != null) {
+                roomByProject.put(row.projectId(), row.roomId());
             } else if (!rooms.isEmpty()) {
-                Long defaultRoomId = rooms.get(0).getId();
-                slotOptionsByProject.put(
-                        row.projectId(),
-                        presentationService.getAvailableSlots(row.projectId(), defaultRoomId)
-                );
+                roomByProject.put(row.projectId(), rooms.get(0).getId());
             }
         }
+        Map<Long, List<PresentationService.SlotOption>> slotOptionsByProject =
+                presentationService.getAvailableSlots(roomByProject);
 
         model.addAttribute("rooms", rooms);
         model.addAttribute("rows", rows);
@@ -121,8 +117,8 @@ public class PresentationController {
     // ---------- Best-effort auto assignment ----------
 
     @PostMapping("/auto")
-    public String autoAssign() {
-        presentationService.runBestEffortAllocation();
+    public String autoAssign(RedirectAttributes redirectAttributes) {
+        redirectAttributes.addFlashAttribute("scheduleReport", presentationService.runBestEffortAllocation());
         return "redirect:/presentations";
     }
 }
\ No newline at end of file
@@ -1,25 +1,32 @@
 package vv.pms.ui;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import vv.pms.allocation.ProjectAllocation;
 import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.ProjectListing;
+import vv.pms.allocation.ProjectListingService;
 import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.Project;
+import vv.pms.project.ProjectCursor;
 import vv.pms.project.ProjectService;
 import vv.pms.student.Student;
 import vv.pms.student.StudentService;
 import vv.pms.ui.records.ProjectDetailsDTO;
 import vv.pms.ui.records.ProjectSummaryDTO;
+import vv.pms.ui.records.ProjectSummaryWindow;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * A controller with the singular purpose of serving aggregated, read-only
@@ -33,62 +40,87 @@ public class ProjectDetailController {
     private final ProfessorService professorService;
     private final AllocationService allocationService;
     private final StudentService studentService;
+    private final ProjectListingService listingService;
 
     public ProjectDetailController(ProjectService projectService,
                                    ProfessorService professorService,
                                    AllocationService allocationService,
-                                   StudentService studentService) {
+                                   StudentService studentService,
+                                   ProjectListingService listingService) {
         this.projectService = projectService;
         this.professorService = professorService;
         this.allocationService = allocationService;
         this.studentService = studentService;
+        this.listingService = listingService;
     }
 
     /**
-     * Serves the 'summary' view of projects.
+     * Serves the 'summary' view of projects from the project listing read model. With {@code q}, only
+     * projects whose title or description match are returned, best matches first; {@code open} (projects
+     * with free places only) applies to the plain listing and is not combined with {@code q}.
      */
     @GetMapping
     public Page<ProjectSummaryDTO> searchProjects(
             @RequestParam(required = false) String program,
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean open,
             Pageable pageable) {
 
-        Page<Project> projectsPage = projectService.findProjects(program, status, pageable); //
-        List<Project> projects = projectsPage.getContent();
-
-        Set<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toSet());
-        if (projectIds.isEmpty()) {
-            return Page.empty(pageable); // Return early if no projects
+        if (q == null || q.isBlank()) {
+            return listingService.findListings(program, status, open, pageable).map(ProjectDetailController::toSummary);
         }
+        Page<Project> matches = projectService.findProjects(program, status, q, pageable); //
+        List<ProjectSummaryDTO> content = listingService.findListingsByProjectIds(
+                        matches.getContent().stream().map(Project::getId).toList()).stream()
+                .map(ProjectDetailController::toSummary)
+                .toList();
+        return new PageImpl<>(content, pageable, matches.getTotalElements());
+    }
 
-        Map<Long, ProjectAllocation> allocMap = allocationService.findAllocationsByProjectIds(projectIds); //
-
-        // Get all needed Professors at once
-        Set<Long> profIds = allocMap.values().stream()
-                .map(ProjectAllocation::getProfessorId) //
-                .collect(Collectors.toSet());
-
-        Map<Long, Professor> profMap = profIds.isEmpty() ? Collections.emptyMap() :
-                professorService.findByIds(profIds); //
-
-        // Map to the Summary DTO
-        return projectsPage.map(project -> {
-
-            ProjectAllocation alloc = allocMap.get(project.getId());
-            Professor prof = (alloc != null) ? profMap.get(alloc.getProfessorId()) : null;
-            String profName = (prof != null) ? prof.getName() : "Unassigned";
-
-            int allocCount = (alloc != null) ? alloc.getAssignedStudentIds().size() : 0; //
-            int spotsAvailable = project.getRequiredStudents() - allocCount;
+    /**
+     * Serves the 'summary' view of projects a page at a time by cursor. Selected by the presence of
+     * {@code after} (empty for the first page); the total is only counted when {@code withTotal} is set.
+     */
+    @GetMapping(params = "after")
+    public ProjectSummaryWindow searchProjectsAfter(
+            @RequestParam(required = false) String program,
+            @RequestParam(required = false) String status,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean open,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        ProjectCursor cursor;
+        try {
+            cursor = ProjectCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+        Slice<ProjectListing> slice = listingService.findListingsAfter(program, status, open, cursor,
+                Math.min(Math.max(size, 1), 100));
+        List<ProjectListing> rows = slice.getContent();
+
+        String next = null;
+        if (slice.hasNext()) {
+            ProjectListing last = rows.get(rows.size() - 1);
+            next = new ProjectCursor(last.getTitle(), last.getProjectId()).encode();
+        }
+        Long total = null;
+        if (withTotal) {
+            total = open ? listingService.countListings(program, status, true) : projectService.countProjects(program, status);
+        }
+        return new ProjectSummaryWindow(rows.stream().map(ProjectDetailController::toSummary).toList(), next, total);
+    }
 
-            return new ProjectSummaryDTO(
-                    project.getId(),
-                    project.getTitle(),
-                    project.getStatus().toString(), //
-                    profName,
-                    spotsAvailable
-            );
-        });
+    private static ProjectSummaryDTO toSummary(ProjectListing listing) {
+        return new ProjectSummaryDTO(
+                listing.getProjectId(),
+                listing.getTitle(),
+                listing.getStatus().toString(),
+                listing.getOwnerName() != null ? listing.getOwnerName() : "Unassigned",
+                listing.getOpenSpots()
+        );
     }
 
     /**
@@ -1,6 +1,7 @@
 package vv.pms.ui;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -8,10 +9,13 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 import vv.pms.allocation.ProjectAllocation;
 import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.ProjectListing;
+import vv.pms.allocation.ProjectListingService;
 import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.Program;
@@ -23,9 +27,6 @@ import vv.pms.student.StudentService;
 import vv.pms.ui.records.ProjectDetailsDTO;
 import vv.pms.ui.records.ProjectForm;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,9 +34,7 @@ import vv.pms.report.ReportService;
 import vv.pms.report.ReportSubmission;
 import vv.pms.report.SystemConfigService;
 
-import java.net.MalformedURLException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -51,19 +50,22 @@ public class ProjectUI {
     private final StudentService studentService;
     private final ReportService reportService;
     private final SystemConfigService systemConfigService;
+    private final ProjectListingService listingService;
 
     public ProjectUI(ProjectService projectService,
                      ProfessorService professorService,
                      AllocationService allocationService,
                      StudentService studentService,
                      ReportService reportService,
-                     SystemConfigService systemConfigService) {
+                     SystemConfigService systemConfigService,
+                     ProjectListingService listingService) {
         this.projectService = projectService;
         this.professorService = professorService;
         this.allocationService = allocationService;
         this.studentService = studentService;
         this.reportService = reportService;
         this.systemConfigService = systemConfigService;
+        this.listingService = listingService;
     }
 
     private record ProjectSummary(
@@ -79,54 +81,49 @@ public class ProjectUI {
                                Model model,
                                @RequestParam(required = false) String program,
                                @RequestParam(required = false) String status,
+                               @RequestParam(required = false) String q,
+                               @RequestParam(defaultValue = "false") boolean open,
                                Pageable pageable) {
 
         // Header Fix
         model.addAttribute("currentUserName", session.getAttribute("currentUserName"));
         model.addAttribute("currentUserRole", session.getAttribute("currentUserRole"));
 
-        Page<Project> projectsPage = projectService.findProjects(program, status, pageable);
-
-        List<Project> projects = projectsPage.getContent();
-        Set<Long> projectIds = projects.stream().map(Project::getId).collect(Collectors.toSet());
-
-        Map<Long, ProjectAllocation> allocMap = projectIds.isEmpty() ? Collections.emptyMap() :
-                allocationService.findAllocationsByProjectIds(projectIds);
-
-        Set<Long> profIds = allocMap.values().stream()
-                .map(ProjectAllocation::getProfessorId)
-                .collect(Collectors.toSet());
-
-        Map<Long, Professor> profMap = profIds.isEmpty() ? Collections.emptyMap() :
-                professorService.findByIds(profIds);
-
-        Page<ProjectSummary> summaryPage = projectsPage.map(project -> {
-            ProjectAllocation alloc = allocMap.get(project.getId());
-            Professor prof = (alloc != null) ? profMap.get(alloc.getProfessorId()) : null;
-            String profName = (prof != null) ? prof.getName() : "Unassigned";
-            int allocCount = (alloc != null) ? alloc.getAssignedStudentIds().size() : 0;
-            int spotsAvailable = project.getRequiredStudents() - allocCount;
-
-            return new ProjectSummary(
-                    project.getId(),
-                    project.getTitle(),
-                    project.getStatus().toString(),
-                    profName,
-                    spotsAvailable
-            );
-        });
+        Page<ProjectSummary> summaryPage;
+        if (q == null || q.isBlank()) {
+            summaryPage = listingService.findListings(program, status, open, pageable).map(ProjectUI::toSummary);
+        } else {
+            Page<Project> matches = projectService.findProjects(program, status, q, pageable);
+            List<ProjectSummary> content = listingService.findListingsByProjectIds(
+                            matches.getContent().stream().map(Project::getId).toList()).stream()
+                    .map(ProjectUI::toSummary)
+                    .toList();
+            summaryPage = new PageImpl<>(content, pageable, matches.getTotalElements());
+        }
 
         model.addAttribute("projectsPage", summaryPage);
         model.addAttribute("programs", Program.values());
         model.addAttribute("statuses", ProjectStatus.values());
         model.addAttribute("selectedProgram", program);
         model.addAttribute("selectedStatus", status);
+        model.addAttribute("searchQuery", q);
+        model.addAttribute("openOnly", open);
 
         model.addAttribute("projectForm", new ProjectForm());
 
         return "projects";
     }
 
+    private static ProjectSummary toSummary(ProjectListing listing) {
+        return new ProjectSummary(
+                listing.getProjectId(),
+                listing.getTitle(),
+                listing.getStatus().toString(),
+                listing.getOwnerName() != null ? listing.getOwnerName() : "Unassigned",
+                listing.getRequiredStudents() - listing.getAssignedStudents()
+        );
+    }
+
 
     @GetMapping("/details/{id}")
     public String projectDetails(@PathVariable Long id, Model model, HttpSession session) {
@@ -377,68 +374,25 @@ public class ProjectUI {
         return "redirect:/projects/details/" + projectId;
     }
 
-    @GetMapping("/download/{projectId}")
-    public Object downloadReport(@PathVariable Long projectId, HttpSession session, RedirectAttributes redirectAttributes) {
-        // Security Check: Ensure user is authorized to download
-        Object idObj = session.getAttribute("currentUserId");
-        Object roleObj = session.getAttribute("currentUserRole");
-        
-        if (idObj == null || roleObj == null) {
-            redirectAttributes.addFlashAttribute("downloadError", "You must be logged in to download reports.");
-            return "redirect:/projects/details/" + projectId;
-        }
+    /**
+     * Streaming upload for scripts and large files: the request body is the PDF itself, so it goes
+     * straight to disk without passing through the multipart resolver.
+     */
+    @PutMapping(value = "/{projectId}/report", consumes = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<String> streamReport(@PathVariable Long projectId,
+                                               @RequestParam("filename") String filename,
+                                               HttpServletRequest request,
+                                               HttpSession session) throws IOException {
+        Long studentId = getCurrentUserId(session);
+        if (studentId == null) return ResponseEntity.status(401).build();
 
-        Long currentUserId;
         try {
-             if (idObj instanceof Number) currentUserId = ((Number) idObj).longValue();
-             else currentUserId = Long.parseLong(idObj.toString());
-        } catch (Exception e) {
-             redirectAttributes.addFlashAttribute("downloadError", "Invalid session.");
-             return "redirect:/projects/details/" + projectId;
-        }
-        String role = roleObj.toString();
-
-        boolean isAuthorized = false;
-        Optional<ProjectAllocation> allocationOpt = allocationService.findAllocationByProjectId(projectId);
-        
-        if (allocationOpt.isPresent()) {
-            ProjectAllocation allocation = allocationOpt.get();
-            // Allow if assigned professor
-            if ("PROFESSOR".equalsIgnoreCase(role) && allocation.getProfessorId().equals(currentUserId)) {
-                isAuthorized = true;
-            }
-            // Allow if assigned student
-            if ("STUDENT".equalsIgnoreCase(role) && allocation.getAssignedStudentIds().contains(currentUserId)) {
-                isAuthorized = true;
-            }
-        }
-
-        if (!isAuthorized) {
-            redirectAttributes.addFlashAttribute("downloadError", "You are not authorized to download this report.");
-            return "redirect:/projects/details/" + projectId;
-        }
-
-        Optional<ReportSubmission> reportOpt = reportService.getReportByProject(projectId);
-        if (reportOpt.isEmpty()) {
-            redirectAttributes.addFlashAttribute("downloadError", "No report found for this project.");
-            return "redirect:/projects/details/" + projectId;
-        }
-        ReportSubmission report = reportOpt.get();
-        try {
-            Path path = Paths.get(report.getFilePath());
-            Resource resource = new UrlResource(path.toUri());
-            if (resource.exists() || resource.isReadable()) {
-                return ResponseEntity.ok()
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFilename() + "\"")
-                        .contentType(MediaType.APPLICATION_PDF)
-                        .body(resource);
-            } else {
-                redirectAttributes.addFlashAttribute("downloadError", "Failed to download file");
-                return "redirect:/projects/details/" + projectId;
-            }
-        } catch (MalformedURLException e) {
-            redirectAttributes.addFlashAttribute("downloadError", "Error: " + e.getMessage());
-            return "redirect:/projects/details/" + projectId;
+            reportService.submitReport(projectId, studentId, filename, request.getInputStream());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         }
     }
 
@@ -469,16 +423,16 @@ public class ProjectUI {
 
         } else {
             // UPDATE: Check Authorization via Service
-            Project p = projectService.findProjectById(form.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Project not found: " + form.getId()));
-
-            p.setTitle(form.getTitle());
-            p.setDescription(form.getDescription());
-            p.setRequiredStudents(form.getRequiredStudents());
-            p.setProgramRestrictions(new HashSet<>(form.getProgramRestrictions()));
-
             // Pass requesting ID and Coordinator status
-            projectService.updateProject(p, currentUserId, isCoordinator(session));
+            Project p = projectService.updateProject(
+                    form.getId(),
+                    form.getTitle(),
+                    form.getDescription(),
+                    new HashSet<>(form.getProgramRestrictions()),
+                    form.getRequiredStudents(),
+                    currentUserId,
+                    isCoordinator(session)
+            );
 
             return "redirect:/projects/details/" + p.getId();
         }
@@ -0,0 +1,196 @@
+package vv.pms.ui;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import vv.pms.allocation.AllocationService;
+import vv.pms.report.ReportService;
+import vv.pms.report.ReportSubmission;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves submitted reports to the assigned professor and students.
+ *
+ * Responses carry the report's content hash as ETag so re-opening an unchanged report is a 304,
+ * honour single byte ranges (with If-Range) so interrupted downloads can resume, and hand the file
+ * to Tomcat's sendfile when the connector supports it, falling back to {@link FileChannel#transferTo}.
+ */
+@Controller
+@RequestMapping("/projects")
+public class ReportDownloadController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AllocationService allocationService;
+    private final ReportService reportService;
+
+    public ReportDownloadController(AllocationService allocationService, ReportService reportService) {
+        this.allocationService = allocationService;
+        this.reportService = reportService;
+    }
+
+    @GetMapping("/download/{projectId}")
+    public String downloadReport(@PathVariable Long projectId,
+                                 HttpSession session,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response,
+                                 RedirectAttributes redirectAttributes) throws IOException {
+        // Security Check: Ensure user is authorized to download
+        Object idObj = session.getAttribute("currentUserId");
+        Object roleObj = session.getAttribute("currentUserRole");
+
+        if (idObj == null || roleObj == null) {
+            redirectAttributes.addFlashAttribute("downloadError", "You must be logged in to download reports.");
+            return "redirect:/projects/details/" + projectId;
+        }
+
+        Long currentUserId;
+        try {
+            if (idObj instanceof Number) currentUserId = ((Number) idObj).longValue();
+            else currentUserId = Long.parseLong(idObj.toString());
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("downloadError", "Invalid session.");
+            return "redirect:/projects/details/" + projectId;
+        }
+
+        if (!isAuthorized(projectId, currentUserId, roleObj.toString())) {
+            redirectAttributes.addFlashAttribute("downloadError", "You are not authorized to download this report.");
+            return "redirect:/projects/details/" + projectId;
+        }
+
+        Optional<ReportSubmission> reportOpt = reportService.getReportByProject(projectId);
+        if (reportOpt.isEmpty()) {
+            redirectAttributes.addFlashAttribute("downloadError", "No report found for this project.");
+            return "redirect:/projects/details/" + projectId;
+        }
+        ReportSubmission report = reportOpt.get();
+        Path path = Paths.get(report.getFilePath());
+        if (!Files.isReadable(path)) {
+            redirectAttributes.addFlashAttribute("downloadError", "Failed to download file");
+            return "redirect:/projects/details/" + projectId;
+        }
+
+        long length = Files.size(path);
+        String etag = etagOf(report, path, length);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // private: reports are per user; no-cache: always revalidate, which is a cheap 304 when unchanged
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return null;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multi-range requests are answered with the whole file, which RFC 9110 allows
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                if (!isSatisfiable(range, length)) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return null;
+                }
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(report.getFilename(), StandardCharsets.UTF_8).build().toString());
+        if (!"HEAD".equalsIgnoreCase(request.getMethod())) {
+            send(request, response, path, start, count);
+        }
+        return null;
+    }
+
+    private boolean isAuthorized(Long projectId, Long userId, String role) {
+        // Allow if assigned professor
+        if ("PROFESSOR".equalsIgnoreCase(role)) {
+            return allocationService.isAssignedProfessor(projectId, userId);
+        }
+        // Allow if assigned student
+        if ("STUDENT".equalsIgnoreCase(role)) {
+            return allocationService.findProjectIdByStudentId(userId).filter(projectId::equals).isPresent();
+        }
+        return false;
+    }
+
+    /** Strong ETag from the content hash; reports stored before hashes existed fall back to a weak one. */
+    private static String etagOf(ReportSubmission report, Path path, long length) throws IOException {
+        if (report.getContentHash() != null) {
+            return "\"" + report.getContentHash() + "\"";
+        }
+        return "W/\"" + length + "-" + Files.getLastModifiedTime(path).toMillis() + "\"";
+    }
+
+    /** A Range is only honoured when If-Range is absent or names the current (strong) ETag. */
+    private static boolean ifRangeMatches(String ifRange, String etag) {
+        return ifRange == null || (!etag.startsWith("W/") && ifRange.trim().equals(etag));
+    }
+
+    private static boolean isSatisfiable(HttpRange range, long length) {
+        try {
+            return range.getRangeStart(length) < length;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response,
+                             Path path, long start, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file after the handler returns, straight from the page cache
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
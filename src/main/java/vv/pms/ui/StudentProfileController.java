@@ -50,16 +50,13 @@ public class StudentProfileController {
             Long projectId = allocation.getProjectId();
 
             // Fetch professor for the project
-            allocationService.findAllocationByProjectId(projectId).flatMap(a -> {
-                Long profId = a.getProfessorId();
-                return professorService.findProfessorById(profId);
-            }).ifPresent(p -> {
+            professorService.findProfessorById(allocation.getProfessorId()).ifPresent(p -> {
                 // put professor into model via attribute after fetching
                 model.addAttribute("teamProfessor", p);
             });
 
-            // Fetch students assigned to the same project
-            java.util.List<Long> studentIds = allocationService.findStudentsByProjectId(projectId);
+            // Students assigned to the same project come with the allocation
+            java.util.List<Long> studentIds = allocation.getAssignedStudentIds();
             java.util.Set<Long> idSet = new java.util.HashSet<>(studentIds);
             java.util.Map<Long, Student> studentsMap = studentService.findByIds(idSet);
 
@@ -0,0 +1,14 @@
+package vv.pms.ui.records;
+
+import java.util.List;
+
+/**
+ * One keyset page of the project search/filter list.
+ * {@code nextCursor} is passed back as {@code after} to fetch the next page and is null on the last one;
+ * {@code totalElements} is only filled in when the client asks for it.
+ */
+public record ProjectSummaryWindow(
+        List<ProjectSummaryDTO> content,
+        String nextCursor,
+        Long totalElements
+) {}
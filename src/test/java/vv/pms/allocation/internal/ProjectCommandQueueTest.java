@@ -0,0 +1,146 @@
+package vv.pms.allocation.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectCommandQueueTest {
+
+    @Test
+    void submit_completesWithHandlerResult() throws Exception {
+        try (ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 2, 8,
+                (projectId, batch) -> batch.forEach(p -> p.result().complete(p.command() * 2)))) {
+
+            assertEquals(42, queue.submit(1L, 21).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void submit_neverRunsTwoBatchesForSameProjectAtOnce() throws Exception {
+        Map<Long, AtomicInteger> active = new ConcurrentHashMap<>();
+        List<String> overlaps = Collections.synchronizedList(new ArrayList<>());
+        try (ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 4, 3, (projectId, batch) -> {
+            AtomicInteger running = active.computeIfAbsent(projectId, id -> new AtomicInteger());
+            if (running.incrementAndGet() > 1) overlaps.add("project " + projectId);
+            Thread.onSpinWait();
+            running.decrementAndGet();
+            batch.forEach(p -> p.result().complete(p.command()));
+        })) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                results.add(queue.submit((long) (i % 3), i));
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            assertTrue(overlaps.isEmpty(), () -> "overlapping batches for " + overlaps);
+        }
+    }
+
+    @Test
+    void submit_batchesCommandsInArrivalOrder() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        try (ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 1, 10, (projectId, batch) -> {
+            batches.add(batch.stream().map(ProjectCommandQueue.Pending::command).toList());
+            firstBatchStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batch.forEach(p -> p.result().complete(p.command()));
+        })) {
+            CompletableFuture<Integer> first = queue.submit(7L, 0);
+            assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+
+            // queued behind the running batch, so they are handed over together
+            List<CompletableFuture<Integer>> rest = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                rest.add(queue.submit(7L, i));
+            }
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            CompletableFuture.allOf(rest.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of(List.of(0), List.of(1, 2, 3, 4)), batches);
+        }
+    }
+
+    @Test
+    void submit_handlerFailure_failsWholeBatch() {
+        try (ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 1, 8, (projectId, batch) -> {
+            throw new IllegalStateException("boom");
+        })) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> queue.submit(1L, 1).get(5, TimeUnit.SECONDS));
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void submit_commandLeftOpenByHandler_isFailed() {
+        try (ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 1, 8, (projectId, batch) -> { })) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> queue.submit(1L, 1).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void submit_dropsLaneOnceDrained() throws Exception {
+        try (ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 4, 2,
+                (projectId, batch) -> batch.forEach(p -> p.result().complete(p.command())))) {
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(queue.submit((long) (i % 10), i));
+            }
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            // lanes are dropped just after the last future of the batch completes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (queue.activeLanes() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, queue.activeLanes());
+
+            assertEquals(7, queue.submit(3L, 7).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void close_waitsForRunningBatchAndFailsQueuedCommands() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        ProjectCommandQueue<Integer, Integer> queue = new ProjectCommandQueue<>("test", 1, 1, (projectId, batch) -> {
+            started.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batch.forEach(p -> p.result().complete(p.command()));
+        });
+        CompletableFuture<Integer> running = queue.submit(1L, 1);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = queue.submit(1L, 2);
+
+        queue.close();
+
+        assertEquals(1, running.getNow(null));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertThrows(ExecutionException.class, () -> queue.submit(2L, 3).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,82 @@
+package vv.pms.allocation.internal;
+
+import org.junit.jupiter.api.Test;
+import vv.pms.project.Program;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentProjectMatcherTest {
+
+    @Test
+    void match_emptyInput_returnsEmpty() {
+        assertTrue(StudentProjectMatcher.match(List.of(), List.of()).isEmpty());
+    }
+
+    @Test
+    void match_respectsCapacity() {
+        List<StudentProjectMatcher.Opening> openings = List.of(
+                new StudentProjectMatcher.Opening(1L, 2, Set.of(Program.SOFTWARE_ENGINEERING)));
+        List<StudentProjectMatcher.Candidate> candidates = List.of(
+                new StudentProjectMatcher.Candidate(10L, Program.SOFTWARE_ENGINEERING),
+                new StudentProjectMatcher.Candidate(11L, Program.SOFTWARE_ENGINEERING),
+                new StudentProjectMatcher.Candidate(12L, Program.SOFTWARE_ENGINEERING));
+
+        Map<Long, List<Long>> result = StudentProjectMatcher.match(openings, candidates);
+
+        assertEquals(List.of(10L, 11L), result.get(1L));
+    }
+
+    @Test
+    void match_respectsProgramRestrictions() {
+        List<StudentProjectMatcher.Opening> openings = List.of(
+                new StudentProjectMatcher.Opening(1L, 3, Set.of(Program.CIVIL_ENGINEERING)));
+        List<StudentProjectMatcher.Candidate> candidates = List.of(
+                new StudentProjectMatcher.Candidate(10L, Program.SOFTWARE_ENGINEERING));
+
+        assertTrue(StudentProjectMatcher.match(openings, candidates).isEmpty());
+    }
+
+    @Test
+    void match_findsAssignmentGreedyOrderWouldMiss() {
+        // Project 1 takes either program, project 2 only software. Filling project 1 first with the
+        // software student would strand the electrical student.
+        List<StudentProjectMatcher.Opening> openings = List.of(
+                new StudentProjectMatcher.Opening(1L, 1, Set.of(Program.SOFTWARE_ENGINEERING, Program.ELECTRICAL_ENGINEERING)),
+                new StudentProjectMatcher.Opening(2L, 1, Set.of(Program.SOFTWARE_ENGINEERING)));
+        List<StudentProjectMatcher.Candidate> candidates = List.of(
+                new StudentProjectMatcher.Candidate(10L, Program.SOFTWARE_ENGINEERING),
+                new StudentProjectMatcher.Candidate(11L, Program.ELECTRICAL_ENGINEERING));
+
+        Map<Long, List<Long>> result = StudentProjectMatcher.match(openings, candidates);
+
+        assertEquals(List.of(11L), result.get(1L));
+        assertEquals(List.of(10L), result.get(2L));
+    }
+
+    @Test
+    void match_largeTerm_placesEveryStudentOnce() {
+        Program[] programs = Program.values();
+        List<StudentProjectMatcher.Opening> openings = new ArrayList<>();
+        for (long p = 0; p < 400; p++) {
+            openings.add(new StudentProjectMatcher.Opening(p, 5,
+                    Set.of(programs[(int) (p % programs.length)], programs[(int) ((p + 1) % programs.length)])));
+        }
+        List<StudentProjectMatcher.Candidate> candidates = new ArrayList<>();
+        for (long s = 0; s < 2000; s++) {
+            candidates.add(new StudentProjectMatcher.Candidate(1000 + s, programs[(int) (s % programs.length)]));
+        }
+
+        Map<Long, List<Long>> result = StudentProjectMatcher.match(openings, candidates);
+
+        Set<Long> placed = new HashSet<>();
+        result.values().forEach(ids -> ids.forEach(id -> assertTrue(placed.add(id), "student placed twice")));
+        assertEquals(2000, placed.size());
+        result.values().forEach(ids -> assertTrue(ids.size() <= 5));
+    }
+}
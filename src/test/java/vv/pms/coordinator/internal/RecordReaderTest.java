@@ -0,0 +1,66 @@
+package vv.pms.coordinator.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordReaderTest {
+
+    @Test
+    void readCsv_mapsHeaderToFields() throws IOException {
+        List<RecordReader.Row> rows = csv("\uFEFFName,Student ID,email\r\nAda,S1,ada@x.com\r\n\r\nBob,S2,bob@x.com\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(Map.of("name", "Ada", "studentid", "S1", "email", "ada@x.com"), rows.get(0).fields());
+        assertEquals(2, rows.get(0).line());
+        assertEquals(4, rows.get(1).line());
+    }
+
+    @Test
+    void readCsv_handlesQuotedFields() throws IOException {
+        List<RecordReader.Row> rows = csv("title,description\n\"A, B\",\"says \"\"hi\"\"\nover two lines\"\nNext,\"\"\n");
+
+        assertEquals("A, B", rows.get(0).fields().get("title"));
+        assertEquals("says \"hi\"\nover two lines", rows.get(0).fields().get("description"));
+        assertEquals("", rows.get(1).fields().get("description"));
+        assertEquals(4, rows.get(1).line());
+    }
+
+    @Test
+    void readCsv_wrongFieldCount_isRowError() throws IOException {
+        List<RecordReader.Row> rows = csv("name,email\nAda\n");
+
+        assertNull(rows.get(0).fields());
+        assertEquals("Expected 2 fields but found 1.", rows.get(0).error());
+    }
+
+    @Test
+    void readNdjson_readsOneObjectPerLine() throws IOException {
+        List<RecordReader.Row> rows = ndjson("{\"title\":\"T\",\"programs\":[\"A\",\"B\"],\"requiredStudents\":3}\n\nnot json\n[1]\n");
+
+        assertEquals(3, rows.size());
+        assertEquals(Map.of("title", "T", "programs", "A;B", "requiredstudents", "3"), rows.get(0).fields());
+        assertTrue(rows.get(1).error().startsWith("Not valid JSON"));
+        assertEquals(3, rows.get(1).line());
+        assertEquals("Expected a JSON object.", rows.get(2).error());
+    }
+
+    private static List<RecordReader.Row> csv(String text) throws IOException {
+        List<RecordReader.Row> rows = new ArrayList<>();
+        RecordReader.readCsv(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), rows::add);
+        return rows;
+    }
+
+    private static List<RecordReader.Row> ndjson(String text) throws IOException {
+        List<RecordReader.Row> rows = new ArrayList<>();
+        RecordReader.readNdjson(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), rows::add);
+        return rows;
+    }
+}
@@ -2,6 +2,7 @@ package vv.pms.entity;
 
 import org.junit.jupiter.api.Test;
 import vv.pms.availability.Availability;
+import vv.pms.availability.AvailabilityMask;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -136,4 +137,46 @@ class AvailabilityTest {
             }
         }
     }
+
+    @Test
+    void testMaskHexRoundTrip() {
+        Boolean[][] original = new Boolean[5][32];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 32; j++) {
+                original[i][j] = (i + j) % 3 == 0;
+            }
+        }
+        AvailabilityMask mask = AvailabilityMask.of(original);
+
+        String hex = mask.toHex();
+        AvailabilityMask restored = AvailabilityMask.fromHex(hex);
+
+        assertEquals(44, hex.length());
+        assertEquals(mask, restored);
+        assertArrayEquals(original, restored.toMatrix());
+    }
+
+    @Test
+    void testMaskConverterReadsLegacyJson() {
+        AvailabilityMask.Converter converter = new AvailabilityMask.Converter();
+
+        AvailabilityMask mask = converter.convertToEntityAttribute("[[true,false],[false,true]]");
+
+        assertEquals(2, mask.dayCount());
+        assertEquals(2, mask.slotsPerDay());
+        assertTrue(mask.isAvailable(0, 0));
+        assertFalse(mask.isAvailable(0, 1));
+        assertTrue(mask.isAvailable(1, 1));
+    }
+
+    @Test
+    void testMaskTreatsNullCellsAsUnavailable() {
+        Boolean[][] timeslots = new Boolean[5][32];
+        timeslots[4][31] = true;
+
+        Availability availability = new Availability(1L, "STUDENT", timeslots);
+
+        assertEquals(1L << 31, availability.getMask().day(4));
+        assertEquals(0L, availability.getMask().day(0));
+    }
 }
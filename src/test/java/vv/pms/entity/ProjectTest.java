@@ -189,4 +189,22 @@ class ProjectTest {
         assertTrue(project.isProgramAllowed(Program.ELECTRICAL_ENGINEERING));
         assertTrue(project.isProgramAllowed(Program.MECHANICAL_ENGINEERING));
     }
+
+    @Test
+    void testUpdateOccupancy() {
+        Project project = new Project("Test", "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2);
+
+        assertFalse(project.updateOccupancy(1));
+        assertEquals(ProjectStatus.OPEN, project.getStatus());
+
+        assertTrue(project.updateOccupancy(2));
+        assertEquals(ProjectStatus.FULL, project.getStatus());
+
+        assertTrue(project.updateOccupancy(1));
+        assertEquals(ProjectStatus.OPEN, project.getStatus());
+
+        project.archive();
+        assertFalse(project.updateOccupancy(2));
+        assertEquals(ProjectStatus.ARCHIVED, project.getStatus());
+    }
 }
@@ -0,0 +1,202 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.BulkAllocationRequest;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.project.ProjectStatus;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+import vv.pms.student.internal.StudentRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Many students applying at once. Not transactional: every application has to commit on its own.
+ */
+@SpringBootTest
+class AllocationConcurrencyIntegrationTest {
+
+    private static final int PROJECTS = 4;
+    private static final int CAPACITY = 5;
+    private static final int STUDENTS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Professor professor;
+    private final List<Project> projects = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        professor = professorService.addProfessor("Prof. Popular", "prof.popular@university.edu");
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(projectService.addProject("Popular " + i, "Everyone wants this one",
+                    new HashSet<>(Set.of(Program.MECHANICAL_ENGINEERING)), CAPACITY, professor.getId()));
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentService.addStudent("Applicant " + i, "A" + i, "applicant" + i + "@test.com",
+                    Program.MECHANICAL_ENGINEERING));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Project project : projects) {
+            allocationService.findStudentsByProjectId(project.getId())
+                    .forEach(studentId -> allocationService.unassignStudentFromProject(project.getId(), studentId));
+            projectService.deleteProject(project.getId(), professor.getId(), true);
+            allocationService.removeProfessorAllocation(project.getId());
+        }
+        studentRepository.deleteAllById(students.stream().map(Student::getId).toList());
+        professorService.deleteProfessor(professor.getId());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void concurrentApplications_neverOverfillProjects() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger busy = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(STUDENTS, i -> {
+            try {
+                allocationService.assignStudentToProject(projects.get(i % PROJECTS).getId(), students.get(i).getId());
+                accepted.incrementAndGet();
+            } catch (AllocationService.AllocationStateException e) {
+                if (e.getMessage().contains("busy")) busy.incrementAndGet();
+            }
+        }, unexpected);
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(0, busy.get(), "applications gave up after retrying");
+        assertEquals(PROJECTS * CAPACITY, accepted.get());
+
+        Set<Long> placed = new HashSet<>();
+        for (Project project : projects) {
+            List<Long> team = allocationService.findStudentsByProjectId(project.getId());
+            assertEquals(CAPACITY, team.size());
+            placed.addAll(team);
+            assertEquals(ProjectStatus.FULL, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+        }
+        assertEquals(PROJECTS * CAPACITY, placed.size());
+        for (Student student : students) {
+            assertEquals(placed.contains(student.getId()),
+                    studentService.findStudentById(student.getId()).orElseThrow().isHasProject());
+        }
+    }
+
+    @Test
+    void studentApplyingEverywhereAtOnce_getsOneProject() throws Exception {
+        Long studentId = students.get(0).getId();
+        AtomicInteger accepted = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(PROJECTS, i -> {
+            try {
+                allocationService.assignStudentToProject(projects.get(i).getId(), studentId);
+                accepted.incrementAndGet();
+            } catch (AllocationService.AllocationStateException e) {
+                // another application won
+            }
+        }, unexpected);
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(1, accepted.get());
+        assertEquals(1, projects.stream()
+                .filter(p -> allocationService.findStudentsByProjectId(p.getId()).contains(studentId))
+                .count());
+    }
+
+    @Test
+    void bulkImportDuringApplications_neverOverfillsProjects() throws Exception {
+        List<BulkAllocationRequest.StudentAssignment> items = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i += 2) {
+            items.add(new BulkAllocationRequest.StudentAssignment(projects.get(i % PROJECTS).getId(), students.get(i).getId()));
+        }
+        AtomicInteger bulkApplied = new AtomicInteger();
+        AtomicInteger accepted = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(STUDENTS / 2 + 1, i -> {
+            if (i == STUDENTS / 2) {
+                bulkApplied.set(allocationService.applyBulk(new BulkAllocationRequest(null, items)).applied());
+                return;
+            }
+            try {
+                allocationService.assignStudentToProject(projects.get(i % PROJECTS).getId(), students.get(2 * i + 1).getId());
+                accepted.incrementAndGet();
+            } catch (AllocationService.AllocationStateException e) {
+                // full, or the import got there first
+            }
+        }, unexpected);
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected failures: " + unexpected);
+        assertEquals(PROJECTS * CAPACITY, bulkApplied.get() + accepted.get());
+        for (Project project : projects) {
+            assertEquals(CAPACITY, allocationService.findStudentsByProjectId(project.getId()).size());
+        }
+    }
+
+    private interface Task {
+        void run(int i) throws Exception;
+    }
+
+    /** Starts all tasks together on a fixed pool and waits for them; anything they throw lands in {@code failures}. */
+    private static void runConcurrently(int tasks, Task task, Queue<Throwable> failures) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    task.run(index);
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "applications did not finish in time");
+    }
+}
@@ -4,17 +4,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationBoardRow;
 import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.BulkAllocationReport;
+import vv.pms.allocation.BulkAllocationRequest;
 import vv.pms.allocation.ProjectAllocation;
 import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.Program;
 import vv.pms.project.Project;
 import vv.pms.project.ProjectService;
+import vv.pms.project.ProjectStatus;
 import vv.pms.student.Student;
 import vv.pms.student.StudentService;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -66,6 +73,14 @@ class AllocationServiceIntegrationTest {
         assertEquals(professor.getId(), allocation.get().getProfessorId());
     }
 
+    @Test
+    void isAssignedProfessor_onlyForSupervisor() {
+        Professor other = professorService.addProfessor("Prof. Other", "prof.other@university.edu");
+
+        assertTrue(allocationService.isAssignedProfessor(project.getId(), professor.getId()));
+        assertFalse(allocationService.isAssignedProfessor(project.getId(), other.getId()));
+    }
+
     @Test
     void assignProfessorToProject_duplicateThrows() {
         // Project is already allocated (from addProject)
@@ -107,6 +122,57 @@ class AllocationServiceIntegrationTest {
         );
     }
 
+    @Test
+    void assignAndUnassign_maintainProjectStatus() {
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+        assertEquals(ProjectStatus.OPEN, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+
+        allocationService.assignStudentToProject(project.getId(), student2.getId());
+        assertEquals(ProjectStatus.FULL, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+        assertTrue(projectService.findProjects(null, "OPEN", PageRequest.of(0, 1000)).getContent().stream()
+                .noneMatch(p -> p.getId().equals(project.getId())));
+
+        allocationService.unassignStudentFromProject(project.getId(), student1.getId());
+        assertEquals(ProjectStatus.OPEN, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void removeProfessorAllocation_reopensProjectForApplications() {
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+        allocationService.assignStudentToProject(project.getId(), student2.getId());
+        assertEquals(ProjectStatus.FULL, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+
+        allocationService.removeProfessorAllocation(project.getId());
+        assertEquals(ProjectStatus.OPEN, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+        assertFalse(studentService.findStudentById(student1.getId()).orElseThrow().isHasProject());
+
+        allocationService.assignProfessorToProject(project.getId(), professor.getId());
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+
+        assertEquals(List.of(student1.getId()), allocationService.findStudentsByProjectId(project.getId()));
+        assertEquals(ProjectStatus.OPEN, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void updateProject_capacityChangeUpdatesStatus() {
+        Project editable = projectService.addProject("Editable", "Desc",
+                new HashSet<>(Set.of(Program.SOFTWARE_ENGINEERING)), 2, professor.getId());
+        allocationService.assignStudentToProject(editable.getId(), student1.getId());
+
+        assertEquals(ProjectStatus.FULL, projectService.updateProject(editable.getId(), "Editable", "Desc",
+                Set.of(Program.SOFTWARE_ENGINEERING), 1, professor.getId(), false).getStatus());
+
+        assertEquals(ProjectStatus.OPEN, projectService.updateProject(editable.getId(), "Editable", "Desc",
+                Set.of(Program.SOFTWARE_ENGINEERING), 3, professor.getId(), false).getStatus());
+    }
+
+    @Test
+    void runBestEffortAllocation_marksFilledProjectsFull() {
+        allocationService.runBestEffortAllocation();
+
+        assertEquals(ProjectStatus.FULL, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+    }
+
     @Test
     void assignStudentToProject_duplicateStudent_throws() {
         allocationService.assignStudentToProject(project.getId(), student1.getId());
@@ -181,6 +247,24 @@ class AllocationServiceIntegrationTest {
         assertEquals(project.getId(), allocation.get().getProjectId());
     }
 
+    @Test
+    void findAllocationByStudentId_unassigned_returnsEmpty() {
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+
+        assertTrue(allocationService.findAllocationByStudentId(student2.getId()).isEmpty());
+        assertTrue(allocationService.findProjectIdByStudentId(student2.getId()).isEmpty());
+    }
+
+    @Test
+    void findProjectIdByStudentId_success() {
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+        allocationService.assignStudentToProject(project.getId(), student2.getId());
+
+        assertEquals(Optional.of(project.getId()), allocationService.findProjectIdByStudentId(student2.getId()));
+        assertEquals(2, allocationService.findAllocationByStudentId(student2.getId())
+                .orElseThrow().getAssignedStudentIds().size());
+    }
+
     @Test
     void findStudentsByProjectId_success() {
         allocationService.assignStudentToProject(project.getId(), student1.getId());
@@ -238,6 +322,24 @@ class AllocationServiceIntegrationTest {
         assertTrue(allocatedStudents.size() > 0);
     }
 
+    @Test
+    void runBestEffortAllocation_findsMaximumAssignment() {
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+        allocationService.assignStudentToProject(project.getId(), student2.getId());
+
+        Project either = projectService.addProject("Either", "SE or EE", Set.of(Program.SOFTWARE_ENGINEERING, Program.ELECTRICAL_ENGINEERING), 1, professor.getId());
+        Project softwareOnly = projectService.addProject("Software Only", "SE", Set.of(Program.SOFTWARE_ENGINEERING), 1, professor.getId());
+        Student se = studentService.addStudent("SE Student", "S010", "se@test.com", Program.SOFTWARE_ENGINEERING);
+        Student ee = studentService.addStudent("EE Student", "S011", "ee@test.com", Program.ELECTRICAL_ENGINEERING);
+
+        allocationService.runBestEffortAllocation();
+
+        assertEquals(List.of(ee.getId()), allocationService.findStudentsByProjectId(either.getId()));
+        assertEquals(List.of(se.getId()), allocationService.findStudentsByProjectId(softwareOnly.getId()));
+        assertTrue(studentService.findStudentById(se.getId()).orElseThrow().isHasProject());
+        assertTrue(studentService.findStudentById(ee.getId()).orElseThrow().isHasProject());
+    }
+
     @Test
     void findProjectOwnerId_success() {
         Optional<Long> ownerId = allocationService.findProjectOwnerId(project.getId());
@@ -245,4 +347,110 @@ class AllocationServiceIntegrationTest {
         assertTrue(ownerId.isPresent());
         assertEquals(professor.getId(), ownerId.get());
     }
+
+    @Test
+    void findAllocationBoard_resolvesNamesAndFilters() {
+        Professor other = professorService.addProfessor("Prof. Other", "prof.other@university.edu");
+        Project otherProject = projectService.addProject(
+                "Another Board Project",
+                "Description",
+                Set.of(Program.SOFTWARE_ENGINEERING),
+                1,
+                other.getId()
+        );
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+
+        Page<AllocationBoardRow> byProfessor = allocationService.findAllocationBoard(null, professor.getId(), PageRequest.of(0, 10));
+        assertTrue(byProfessor.getContent().stream().allMatch(r -> r.professorId().equals(professor.getId())));
+        AllocationBoardRow row = byProfessor.getContent().stream()
+                .filter(r -> r.projectId().equals(project.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Test Project", row.projectTitle());
+        assertEquals("Prof. Test", row.professorName());
+        assertEquals("Student One", row.studentNames());
+
+        Page<AllocationBoardRow> bySearch = allocationService.findAllocationBoard("another board", null, PageRequest.of(0, 10));
+        assertEquals(1, bySearch.getTotalElements());
+        assertEquals(otherProject.getId(), bySearch.getContent().get(0).projectId());
+    }
+
+    @Test
+    void findAllocationBoard_pagesSortedByTitle() {
+        for (int i = 0; i < 3; i++) {
+            projectService.addProject("Board Page " + i, "Description", Set.of(Program.SOFTWARE_ENGINEERING), 1, professor.getId());
+        }
+
+        Page<AllocationBoardRow> first = allocationService.findAllocationBoard("Board Page", null, PageRequest.of(0, 2));
+        Page<AllocationBoardRow> second = allocationService.findAllocationBoard("Board Page", null, PageRequest.of(1, 2));
+
+        assertEquals(3, first.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+        assertEquals(List.of("Board Page 0", "Board Page 1"),
+                first.getContent().stream().map(AllocationBoardRow::projectTitle).toList());
+        assertEquals(List.of("Board Page 2"),
+                second.getContent().stream().map(AllocationBoardRow::projectTitle).toList());
+    }
+
+    @Test
+    void applyBulk_appliesValidItemsAndReportsTheRest() {
+        allocationService.removeProfessorAllocation(project.getId());
+        Student civil = studentService.addStudent("Civil Student", "S003", "student3@test.com", Program.CIVIL_ENGINEERING);
+        Student third = studentService.addStudent("Student Three", "S004", "student4@test.com", Program.SOFTWARE_ENGINEERING);
+
+        BulkAllocationReport report = allocationService.applyBulk(new BulkAllocationRequest(
+                List.of(
+                        new BulkAllocationRequest.ProfessorAssignment(project.getId(), professor.getId()),
+                        new BulkAllocationRequest.ProfessorAssignment(project.getId(), professor.getId())),
+                List.of(
+                        new BulkAllocationRequest.StudentAssignment(project.getId(), student1.getId()),
+                        new BulkAllocationRequest.StudentAssignment(project.getId(), student1.getId()),
+                        new BulkAllocationRequest.StudentAssignment(project.getId(), civil.getId()),
+                        new BulkAllocationRequest.StudentAssignment(project.getId(), student2.getId()),
+                        new BulkAllocationRequest.StudentAssignment(project.getId(), third.getId()),
+                        new BulkAllocationRequest.StudentAssignment(project.getId(), 999_999L))));
+
+        assertEquals(3, report.applied());
+        assertEquals(5, report.rejected());
+        assertTrue(report.professors().get(0).applied());
+        assertEquals("Project " + project.getId() + " is already allocated to a professor.", report.professors().get(1).error());
+        assertEquals(List.of(true, false, false, true, false, false),
+                report.students().stream().map(BulkAllocationReport.ItemResult::applied).toList());
+        assertEquals("Student " + student1.getId() + " is already assigned to this project.", report.students().get(1).error());
+        assertTrue(report.students().get(2).error().contains("does not match restrictions"));
+        assertEquals("Project " + project.getId() + " is already full.", report.students().get(4).error());
+        assertEquals("Student ID 999999 not found.", report.students().get(5).error());
+
+        ProjectAllocation allocation = allocationService.findAllocationByProjectId(project.getId()).orElseThrow();
+        assertEquals(professor.getId(), allocation.getProfessorId());
+        assertEquals(List.of(student1.getId(), student2.getId()), allocation.getAssignedStudentIds());
+        assertTrue(studentService.findStudentById(student1.getId()).orElseThrow().isHasProject());
+        assertFalse(studentService.findStudentById(third.getId()).orElseThrow().isHasProject());
+        assertEquals(ProjectStatus.FULL, projectService.findProjectById(project.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void applyBulk_rejectsStudentsWhoAlreadyHaveAProject() {
+        Project other = projectService.addProject("Other Bulk", "Description", Set.of(Program.SOFTWARE_ENGINEERING), 2, professor.getId());
+        allocationService.assignStudentToProject(project.getId(), student1.getId());
+
+        BulkAllocationReport report = allocationService.applyBulk(new BulkAllocationRequest(null, List.of(
+                new BulkAllocationRequest.StudentAssignment(other.getId(), student1.getId()),
+                new BulkAllocationRequest.StudentAssignment(other.getId(), student2.getId()),
+                new BulkAllocationRequest.StudentAssignment(project.getId(), student2.getId()))));
+
+        assertEquals(1, report.applied());
+        assertEquals("Student " + student1.getId() + " already has an assigned project.", report.students().get(0).error());
+        assertEquals("Student " + student2.getId() + " already has an assigned project.", report.students().get(2).error());
+        assertEquals(List.of(student2.getId()), allocationService.findStudentsByProjectId(other.getId()));
+    }
+
+    @Test
+    void applyBulk_reportsUnknownProjectAsNotFound() {
+        BulkAllocationReport report = allocationService.applyBulk(new BulkAllocationRequest(null, List.of(
+                new BulkAllocationRequest.StudentAssignment(999_999L, student1.getId()))));
+
+        assertEquals(0, report.applied());
+        assertEquals("Project ID 999999 not found.", report.students().get(0).error());
+    }
 }
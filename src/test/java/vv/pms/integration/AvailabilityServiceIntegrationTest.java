@@ -4,9 +4,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import vv.pms.availability.Availability;
+import vv.pms.availability.AvailabilityMask;
 import vv.pms.availability.AvailabilityService;
+import vv.pms.availability.LegacyAvailabilityMigration;
 import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.Program;
@@ -28,6 +31,9 @@ class AvailabilityServiceIntegrationTest {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Professor professor;
     private Student student;
 
@@ -188,4 +194,32 @@ class AvailabilityServiceIntegrationTest {
             assertEquals(32, timeslots[day].length); // 32 slots (8am-4pm at 15 min intervals)
         }
     }
+
+    @Test
+    void updateAvailability_storesHexMask() {
+        Boolean[][] timeslots = new Boolean[5][32];
+        timeslots[2][5] = true;
+        availabilityService.updateAvailability(student.getId(), "STUDENT", timeslots);
+        Long id = availabilityService.getAvailability(student.getId(), "STUDENT").getId();
+
+        String stored = jdbcTemplate.queryForObject("SELECT timeslots FROM availability WHERE id = ?", String.class, id);
+
+        assertEquals(4 + 5 * 8, stored.length());
+        assertTrue(AvailabilityMask.fromHex(stored).isAvailable(2, 5));
+    }
+
+    @Test
+    void legacyJsonRow_isMigratedToHexMask() {
+        jdbcTemplate.update("INSERT INTO availability (user_id, user_type, timeslots) VALUES (?, ?, ?)",
+                student.getId(), "STUDENT", "[[true,false],[false,true]]");
+
+        int migrated = LegacyAvailabilityMigration.migrate(jdbcTemplate, "availability", "timeslots");
+
+        assertEquals(1, migrated);
+        Availability availability = availabilityService.getAvailability(student.getId(), "STUDENT");
+        assertTrue(availability.getTimeslots()[0][0]);
+        assertFalse(availability.getTimeslots()[0][1]);
+        assertTrue(availability.getTimeslots()[1][1]);
+        assertEquals(0, LegacyAvailabilityMigration.migrate(jdbcTemplate, "availability", "timeslots"));
+    }
 }
@@ -0,0 +1,137 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationService;
+import vv.pms.coordinator.BulkImportService;
+import vv.pms.coordinator.ImportFormat;
+import vv.pms.coordinator.ImportReport;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+import vv.pms.student.internal.StudentRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class BulkImportServiceIntegrationTest {
+
+    // BulkImportService.CHUNK_SIZE
+    private static final int BULK_CHUNK = 500;
+
+    @Autowired
+    private BulkImportService importService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void importStudents_savesValidRowsAndReportsTheRest() throws IOException {
+        studentService.addStudent("Existing", "IMP000", "existing@import.test", Program.SOFTWARE_ENGINEERING);
+        StringBuilder csv = new StringBuilder("name,studentId,email,program\n");
+        for (int i = 1; i <= 1200; i++) {
+            csv.append("Student ").append(i).append(",IMP").append(i).append(",s").append(i).append("@import.test,SOFTWARE_ENGINEERING\n");
+        }
+        csv.append("Dup Id,IMP000,fresh@import.test,SOFTWARE_ENGINEERING\n")
+                .append("Dup Email,IMP9999,s1@import.test,SOFTWARE_ENGINEERING\n")
+                .append("Bad Program,IMP9998,bad@import.test,UNDERWATER_BASKETRY\n")
+                .append("Bad Email,IMP9997,not-an-email,CIVIL_ENGINEERING\n")
+                .append(",IMP9996,noname@import.test,CIVIL_ENGINEERING\n");
+
+        ImportReport report = importService.importStudents(stream(csv.toString()), ImportFormat.CSV);
+
+        assertEquals(1200, report.imported());
+        assertEquals(5, report.rejected());
+        assertEquals(List.of(1202L, 1203L, 1204L, 1205L, 1206L),
+                report.errors().stream().map(ImportReport.RowError::line).toList());
+        assertEquals("Student ID IMP000 already exists.", report.errors().get(0).message());
+        assertEquals("Email s1@import.test already exists.", report.errors().get(1).message());
+        assertEquals("Unknown program UNDERWATER_BASKETRY.", report.errors().get(2).message());
+        assertTrue(report.errors().get(3).message().startsWith("email"));
+        assertEquals("Missing name.", report.errors().get(4).message());
+
+        Student imported = studentService.findByEmail("s1200@import.test").orElseThrow();
+        assertEquals("IMP1200", imported.getStudentId());
+        assertFalse(imported.isHasProject());
+    }
+
+    @Test
+    void importProfessorsThenProjects_fromNdjson() throws IOException {
+        ImportReport professors = importService.importProfessors(stream("""
+                {"name": "Prof. Import", "email": "prof@import.test"}
+                {"name": "Prof. Twice", "email": "prof@import.test"}
+                """), ImportFormat.NDJSON);
+        assertEquals(1, professors.imported());
+        assertEquals("Professor with email prof@import.test already exists.", professors.errors().get(0).message());
+
+        ImportReport projects = importService.importProjects(stream("""
+                {"title": "Imported Project", "description": "From a file", "programs": ["SOFTWARE_ENGINEERING", "CIVIL_ENGINEERING"], "requiredStudents": 2, "professorEmail": "PROF@import.test"}
+                {"title": "Orphan", "description": "Nobody owns it", "programs": "SOFTWARE_ENGINEERING", "requiredStudents": 2, "professorEmail": "nobody@import.test"}
+                {"title": "Empty", "description": "No room", "programs": "SOFTWARE_ENGINEERING", "requiredStudents": 0, "professorEmail": "prof@import.test"}
+                """), ImportFormat.NDJSON);
+
+        assertEquals(1, projects.imported());
+        assertEquals(List.of("No professor with email nobody@import.test.", "requiredStudents must be at least 1."),
+                projects.errors().stream().map(ImportReport.RowError::message).toList());
+
+        Professor professor = professorService.findByEmail("prof@import.test").orElseThrow();
+        List<Project> owned = allocationService.findProjectsByProfessorId(professor.getId());
+        assertEquals(1, owned.size());
+        assertEquals("Imported Project", owned.get(0).getTitle());
+        assertEquals(Set.of(Program.SOFTWARE_ENGINEERING, Program.CIVIL_ENGINEERING), owned.get(0).getProgramRestrictions());
+        assertTrue(projectService.findProjectById(owned.get(0).getId()).isPresent());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importStudents_failedChunkFreesItsKeys() throws IOException {
+        // every chunk commits on its own here, so the failed one does not poison the rest
+        StringBuilder csv = new StringBuilder("name,studentId,email,program\n")
+                .append("x".repeat(300)).append(",FREE0,free0@import.test,SOFTWARE_ENGINEERING\n");
+        for (int i = 1; i < BULK_CHUNK; i++) {
+            csv.append("Student ").append(i).append(",FREE").append(i).append(",free").append(i).append("@import.test,SOFTWARE_ENGINEERING\n");
+        }
+        csv.append("Retried,FREE1,free1@import.test,SOFTWARE_ENGINEERING\n");
+
+        ImportReport report = importService.importStudents(stream(csv.toString()), ImportFormat.CSV);
+        try {
+            assertEquals(1, report.imported());
+            assertEquals(BULK_CHUNK, report.rejected());
+            assertTrue(report.errors().get(0).message().startsWith("Not saved: "));
+            assertEquals("Retried", studentService.findByEmail("free1@import.test").orElseThrow().getName());
+        } finally {
+            studentService.findByEmail("free1@import.test").ifPresent(s -> studentRepository.deleteById(s.getId()));
+        }
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
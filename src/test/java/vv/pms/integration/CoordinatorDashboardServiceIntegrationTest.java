@@ -0,0 +1,113 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationService;
+import vv.pms.coordinator.CoordinatorDashboardService;
+import vv.pms.coordinator.CoordinatorDashboardService.AssignmentStatus;
+import vv.pms.coordinator.StudentDashboardRow;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CoordinatorDashboardServiceIntegrationTest {
+
+    @Autowired
+    private CoordinatorDashboardService dashboardService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private StudentService studentService;
+
+    private Project project;
+    private Student assigned;
+    private Student unassigned;
+
+    @BeforeEach
+    void setUp() {
+        Professor professor = professorService.addProfessor("Prof. Dashboard", "prof.dash@university.edu");
+        project = projectService.addProject(
+                "Dashboard Project",
+                "Description",
+                Set.of(Program.SOFTWARE_ENGINEERING, Program.ELECTRICAL_ENGINEERING),
+                2,
+                professor.getId()
+        );
+        assigned = studentService.addStudent("Dash Assigned", "DASH001", "dash1@test.com", Program.SOFTWARE_ENGINEERING);
+        unassigned = studentService.addStudent("Dash Unassigned", "DASH002", "dash2@test.com", Program.ELECTRICAL_ENGINEERING);
+        allocationService.assignStudentToProject(project.getId(), assigned.getId());
+    }
+
+    @Test
+    void findStudents_assigned_joinsProjectTitle() {
+        Page<StudentDashboardRow> page = dashboardService.findStudents(AssignmentStatus.ASSIGNED, null, null, PageRequest.of(0, 50));
+
+        StudentDashboardRow row = page.getContent().stream()
+                .filter(r -> r.id().equals(assigned.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(project.getId(), row.projectId());
+        assertEquals("Dashboard Project", row.projectTitle());
+        assertTrue(page.getContent().stream().noneMatch(r -> r.id().equals(unassigned.getId())));
+    }
+
+    @Test
+    void findStudents_unassigned_hasNoProject() {
+        Page<StudentDashboardRow> page = dashboardService.findStudents(AssignmentStatus.UNASSIGNED, null, null, PageRequest.of(0, 50));
+
+        StudentDashboardRow row = page.getContent().stream()
+                .filter(r -> r.id().equals(unassigned.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertNull(row.projectTitle());
+        assertTrue(page.getContent().stream().noneMatch(r -> r.id().equals(assigned.getId())));
+    }
+
+    @Test
+    void findStudents_filtersByProgramAndProject() {
+        Page<StudentDashboardRow> byProgram = dashboardService.findStudents(
+                AssignmentStatus.ALL, Program.ELECTRICAL_ENGINEERING, null, PageRequest.of(0, 50));
+        assertTrue(byProgram.getContent().stream().allMatch(r -> r.program() == Program.ELECTRICAL_ENGINEERING));
+
+        Page<StudentDashboardRow> byProject = dashboardService.findStudents(
+                AssignmentStatus.ALL, null, project.getId(), PageRequest.of(0, 50));
+        assertEquals(List.of(assigned.getId()), byProject.getContent().stream().map(StudentDashboardRow::id).toList());
+    }
+
+    @Test
+    void findStudents_pagesInTheDatabase() {
+        for (int i = 0; i < 5; i++) {
+            studentService.addStudent("Dash Paged " + i, "DASHP" + i, "dashp" + i + "@test.com", Program.SOFTWARE_ENGINEERING);
+        }
+
+        Page<StudentDashboardRow> page = dashboardService.findStudents(AssignmentStatus.ALL, null, null, PageRequest.of(1, 2));
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.getTotalElements() >= 7);
+        assertEquals(1, page.getNumber());
+    }
+}
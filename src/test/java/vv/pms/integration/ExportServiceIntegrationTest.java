@@ -0,0 +1,149 @@
+package vv.pms.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationService;
+import vv.pms.coordinator.ExportFormat;
+import vv.pms.coordinator.ExportService;
+import vv.pms.presentation.PresentationService;
+import vv.pms.presentation.Room;
+import vv.pms.presentation.RoomService;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.report.ReportSubmission;
+import vv.pms.report.SystemConfigService;
+import vv.pms.report.internal.ReportSubmissionRepository;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ExportServiceIntegrationTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private PresentationService presentationService;
+
+    @Autowired
+    private SystemConfigService systemConfigService;
+
+    @Autowired
+    private ReportSubmissionRepository reportSubmissionRepository;
+
+    private Project project;
+    private Project quiet;
+    private Student ada;
+    private Student bob;
+
+    @BeforeEach
+    void setUp() {
+        Professor professor = professorService.addProfessor("Prof. Export", "prof.export@university.edu");
+        project = projectService.addProject("Export, with comma", "Description", Set.of(Program.SOFTWARE_ENGINEERING), 3, professor.getId());
+        quiet = projectService.addProject("Export, without students", "Description", Set.of(Program.SOFTWARE_ENGINEERING), 3, professor.getId());
+        ada = studentService.addStudent("Ada", "EXP001", "ada@export.test", Program.SOFTWARE_ENGINEERING);
+        bob = studentService.addStudent("Bob", "EXP002", "bob@export.test", Program.SOFTWARE_ENGINEERING);
+        allocationService.assignStudentToProject(project.getId(), bob.getId());
+        allocationService.assignStudentToProject(project.getId(), ada.getId());
+    }
+
+    @Test
+    void exportAllocations_csv_oneLinePerStudent() throws IOException {
+        List<String> lines = export(out -> exportService.exportAllocations(ExportFormat.CSV, out)).lines().toList();
+
+        assertEquals("projectId,projectTitle,professorId,professorName,studentId,studentNumber,studentName,studentEmail", lines.get(0));
+        List<String> mine = lines.stream().filter(l -> l.contains("Export")).toList();
+        assertEquals(3, mine.size());
+        assertTrue(mine.get(0).contains("\"Export, with comma\""));
+        assertTrue(mine.get(0).endsWith(",EXP001,Ada,ada@export.test"));
+        assertTrue(mine.get(1).endsWith(",EXP002,Bob,bob@export.test"));
+        assertTrue(mine.get(2).startsWith(quiet.getId() + ",\"Export, without students\","));
+        assertTrue(mine.get(2).endsWith(",,,,"));
+    }
+
+    @Test
+    void exportPresentations_json_groupsStudentsPerSlot() throws IOException {
+        Room room = roomService.createRoom("Export Room");
+        presentationService.assignPresentation(project.getId(), room.getId(), 1, 2);
+
+        JsonNode rows = new ObjectMapper().readTree(export(out -> exportService.exportPresentations(ExportFormat.JSON, out)));
+
+        JsonNode row = find(rows, project.getId());
+        assertEquals("Export, with comma", row.get("projectTitle").asText());
+        assertEquals("Prof. Export", row.get("professorName").asText());
+        assertEquals("Ada, Bob", row.get("studentNames").asText());
+        assertEquals("Export Room", row.get("room").asText());
+        assertEquals("Tuesday 09:00-09:30", row.get("slot").asText());
+        assertNull(find(rows, quiet.getId()));
+    }
+
+    @Test
+    void exportReportStatus_json_showsLatestSubmission() throws IOException {
+        LocalDateTime deadline = LocalDateTime.now().plusDays(1);
+        systemConfigService.setReportDeadline(deadline);
+        reportSubmissionRepository.save(new ReportSubmission(project.getId(), "draft.pdf", "unused", deadline.minusDays(2), ada.getId()));
+        reportSubmissionRepository.save(new ReportSubmission(project.getId(), "final.pdf", "unused", deadline.plusHours(1), bob.getId()));
+
+        JsonNode rows = new ObjectMapper().readTree(export(out -> exportService.exportReportStatus(ExportFormat.JSON, out)));
+
+        JsonNode submitted = find(rows, project.getId());
+        assertTrue(submitted.get("submitted").asBoolean());
+        assertEquals("final.pdf", submitted.get("filename").asText());
+        assertEquals("Bob", submitted.get("submittedBy").asText());
+        assertTrue(submitted.get("late").asBoolean());
+
+        JsonNode missing = find(rows, quiet.getId());
+        assertFalse(missing.get("submitted").asBoolean());
+        assertTrue(missing.get("filename").isNull());
+    }
+
+    private interface Export {
+        void to(ByteArrayOutputStream out) throws IOException;
+    }
+
+    private static String export(Export export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.to(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static JsonNode find(JsonNode rows, Long projectId) {
+        for (JsonNode row : rows) {
+            if (row.get("projectId").asLong() == projectId) return row;
+        }
+        return null;
+    }
+}
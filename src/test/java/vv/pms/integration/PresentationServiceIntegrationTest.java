@@ -20,6 +20,7 @@ import vv.pms.student.Student;
 import vv.pms.student.StudentService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -268,6 +269,22 @@ class PresentationServiceIntegrationTest {
         assertNotNull(ourRow.get().slotLabel());
     }
 
+    @Test
+    void buildPresentationRows_joinsTeamNamesAndRoom() {
+        Student teammate = studentService.addStudent("Team Mate", "TEAM002", "team.mate@university.edu", Program.SOFTWARE_ENGINEERING);
+        allocationService.assignStudentToProject(project.getId(), teammate.getId());
+        presentationService.assignPresentation(project.getId(), room.getId(), 1, 2);
+
+        PresentationService.PresentationRow row = presentationService.buildPresentationRows().stream()
+                .filter(r -> r.projectId().equals(project.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals("Present Student, Team Mate", row.studentNames());
+        assertEquals(room.getId(), row.roomId());
+        assertEquals("Tuesday 09:00-09:30", row.slotLabel());
+    }
+
     @Test
     void buildPresentationRows_noPresentation_showsNullSlot() {
         // Project has allocation but no presentation slot
@@ -294,6 +311,48 @@ class PresentationServiceIntegrationTest {
         assertNotNull(slot);
     }
 
+    @Test
+    void runBestEffortAllocation_reportsUnschedulableProjects() {
+        Student busyStudent = studentService.addStudent("Busy Student", "BUSY001", "busy@test.com", Program.SOFTWARE_ENGINEERING);
+        Project busyProject = projectService.addProject(
+                "Busy Project",
+                "Team never free",
+                Set.of(Program.SOFTWARE_ENGINEERING),
+                1,
+                professor.getId()
+        );
+        allocationService.assignStudentToProject(busyProject.getId(), busyStudent.getId());
+
+        PresentationService.ScheduleReport report = presentationService.runBestEffortAllocation();
+
+        assertTrue(presentationService.findByProjectId(project.getId()).isPresent());
+        assertFalse(presentationService.findByProjectId(busyProject.getId()).isPresent());
+        assertTrue(report.scheduled() >= 1);
+        assertTrue(report.unschedulable().stream()
+                .anyMatch(u -> u.projectId().equals(busyProject.getId())
+                        && u.reason().equals("The professor and students have no common free time")));
+    }
+
+    @Test
+    void runBestEffortAllocation_keepsProfessorBookedForSlotOfEmptiedTeam() {
+        presentationService.assignPresentation(project.getId(), room.getId(), 0, 0);
+        allocationService.unassignStudentFromProject(project.getId(), student.getId());
+        roomService.createRoom("Second Room");
+
+        Student student2 = studentService.addStudent("Student 2", "S002", "s2@test.com", Program.SOFTWARE_ENGINEERING);
+        Project project2 = projectService.addProject("Project 2", "Description 2", Set.of(Program.SOFTWARE_ENGINEERING), 1, professor.getId());
+        allocationService.assignStudentToProject(project2.getId(), student2.getId());
+        // only free when the professor is already presenting the first project
+        Boolean[][] mondayFirstBin = new Boolean[5][32];
+        mondayFirstBin[0][0] = true;
+        availabilityService.updateAvailability(student2.getId(), "STUDENT", mondayFirstBin);
+
+        PresentationService.ScheduleReport report = presentationService.runBestEffortAllocation();
+
+        assertFalse(presentationService.findByProjectId(project2.getId()).isPresent());
+        assertTrue(report.unschedulable().stream().anyMatch(u -> u.projectId().equals(project2.getId())));
+    }
+
     @Test
     void reassignPresentation_updatesExistingSlot() {
         // Assign initial presentation
@@ -342,4 +401,31 @@ class PresentationServiceIntegrationTest {
         assertTrue(slot2.isPresent());
         assertNotEquals(slot1.get().getStartBinIndex(), slot2.get().getStartBinIndex());
     }
+
+    @Test
+    void getAvailableSlots_bulk_sharesRoomOccupancy() {
+        Student student2 = studentService.addStudent("Student 2", "S002", "s2@test.com", Program.SOFTWARE_ENGINEERING);
+        Project project2 = projectService.addProject(
+                "Project 2",
+                "Description 2",
+                Set.of(Program.SOFTWARE_ENGINEERING),
+                1,
+                professor.getId()
+        );
+        allocationService.assignStudentToProject(project2.getId(), student2.getId());
+        Boolean[][] mondayMorning = new Boolean[5][32];
+        mondayMorning[0][0] = true;
+        mondayMorning[0][1] = true;
+        availabilityService.updateAvailability(student2.getId(), "STUDENT", mondayMorning);
+        presentationService.assignPresentation(project.getId(), room.getId(), 0, 0);
+
+        Map<Long, List<PresentationService.SlotOption>> options = presentationService.getAvailableSlots(
+                Map.of(project.getId(), room.getId(), project2.getId(), room.getId()));
+
+        // project 2 loses the bin booked by project 1; project 1 can still see its own booking
+        assertEquals(List.of(1), options.get(project2.getId()).stream()
+                .map(PresentationService.SlotOption::startBinIndex).toList());
+        assertEquals(5 * 16, options.get(project.getId()).size());
+        assertEquals(options.get(project.getId()), presentationService.getAvailableSlots(project.getId(), room.getId()));
+    }
 }
@@ -0,0 +1,139 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationService;
+import vv.pms.allocation.ProjectListing;
+import vv.pms.allocation.ProjectListingService;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectCursor;
+import vv.pms.project.ProjectService;
+import vv.pms.project.ProjectStatus;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ProjectListingServiceIntegrationTest {
+
+    @Autowired
+    private ProjectListingService listingService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private StudentService studentService;
+
+    private Professor professor;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        professor = professorService.addProfessor("Prof. Listing", "prof.listing@university.edu");
+        project = projectService.addProject("Listing Project", "Desc",
+                new HashSet<>(Set.of(Program.SOFTWARE_ENGINEERING)), 1, professor.getId());
+    }
+
+    @Test
+    void addProject_createsListingWithOwner() {
+        ProjectListing listing = listingOf(project.getId());
+
+        assertEquals("Listing Project", listing.getTitle());
+        assertEquals(ProjectStatus.OPEN, listing.getStatus());
+        assertEquals("Prof. Listing", listing.getOwnerName());
+        assertEquals(0, listing.getAssignedStudents());
+        assertEquals(1, listing.getOpenSpots());
+    }
+
+    @Test
+    void assignStudent_updatesOccupancyAndOpenFilter() {
+        Student student = studentService.addStudent("Listing Student", "L001", "listing.student@test.com",
+                Program.SOFTWARE_ENGINEERING);
+
+        allocationService.assignStudentToProject(project.getId(), student.getId());
+
+        ProjectListing listing = listingOf(project.getId());
+        assertEquals(1, listing.getAssignedStudents());
+        assertEquals(0, listing.getOpenSpots());
+        assertTrue(listingService.findListings(null, null, true, PageRequest.of(0, 1000)).getContent().stream()
+                .noneMatch(l -> l.getProjectId().equals(project.getId())));
+
+        allocationService.unassignStudentFromProject(project.getId(), student.getId());
+
+        assertEquals(1, listingOf(project.getId()).getOpenSpots());
+    }
+
+    @Test
+    void projectAndProfessorChanges_areReflected() {
+        professorService.modifyProfessor(professor.getId(), "Prof. Renamed", professor.getEmail());
+        projectService.archiveProject(project.getId(), professor.getId(), false);
+
+        ProjectListing listing = listingOf(project.getId());
+        assertEquals("Prof. Renamed", listing.getOwnerName());
+        assertEquals(ProjectStatus.ARCHIVED, listing.getStatus());
+
+        projectService.deleteProject(project.getId(), professor.getId(), false);
+
+        assertTrue(listingService.findListingsByProjectIds(List.of(project.getId())).isEmpty());
+    }
+
+    @Test
+    void findListings_filtersByProgramAndStatus() {
+        projectService.addProject("Listing EE", "Desc", Set.of(Program.ELECTRICAL_ENGINEERING), 2, professor.getId());
+
+        List<ProjectListing> se = listingService.findListings("SOFTWARE_ENGINEERING", "OPEN", false,
+                PageRequest.of(0, 1000)).getContent();
+
+        assertTrue(se.stream().anyMatch(l -> l.getProjectId().equals(project.getId())));
+        assertTrue(se.stream().noneMatch(l -> l.getTitle().equals("Listing EE")));
+    }
+
+    @Test
+    void findListingsAfter_walksAllPages() {
+        for (int i = 0; i < 5; i++) {
+            projectService.addProject("Listing Keyset " + (i % 2), "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2, professor.getId());
+        }
+        List<Long> expected = listingService.findListings(null, null, false, PageRequest.of(0, 1000)).getContent().stream()
+                .map(ProjectListing::getProjectId).toList();
+
+        List<Long> walked = new ArrayList<>();
+        ProjectCursor cursor = null;
+        Slice<ProjectListing> slice;
+        do {
+            slice = listingService.findListingsAfter(null, null, false, cursor, 2);
+            slice.getContent().forEach(l -> walked.add(l.getProjectId()));
+            ProjectListing last = slice.getContent().get(slice.getContent().size() - 1);
+            cursor = new ProjectCursor(last.getTitle(), last.getProjectId());
+        } while (slice.hasNext());
+
+        assertEquals(expected, walked);
+    }
+
+    private ProjectListing listingOf(Long projectId) {
+        List<ProjectListing> found = listingService.findListingsByProjectIds(List.of(projectId));
+        assertEquals(1, found.size());
+        return found.get(0);
+    }
+}
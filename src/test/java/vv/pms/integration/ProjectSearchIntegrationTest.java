@@ -0,0 +1,78 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: the search index is only updated once a transaction commits.
+ */
+@SpringBootTest
+class ProjectSearchIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Professor professor;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        professor = professorService.addProfessor("Dr. Search", "dr.search@university.edu");
+        project = projectService.addProject("Zeppelin telemetry", "Collect flight data from an airship.",
+                new HashSet<>(Set.of(Program.SOFTWARE_ENGINEERING)), 2, professor.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (projectService.findProjectById(project.getId()).isPresent()) {
+            projectService.deleteProject(project.getId(), professor.getId(), true);
+        }
+        professorService.deleteProfessor(professor.getId());
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findProjects_withQuery_followsWritesThroughTheService() {
+        assertEquals(List.of(project.getId()), ids(projectService.findProjects(null, null, "airship", PageRequest.of(0, 10))));
+
+        projectService.updateProject(project.getId(), project.getTitle(), "Collect flight data from a blimp.",
+                project.getProgramRestrictions(), project.getRequiredStudents(), professor.getId(), true);
+
+        assertTrue(projectService.findProjects(null, null, "airship", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(project.getId()), ids(projectService.findProjects(null, null, "blimp", PageRequest.of(0, 10))));
+
+        projectService.archiveProject(project.getId(), professor.getId(), true);
+        assertTrue(projectService.findProjects(null, "OPEN", "zeppelin", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, projectService.findProjects(null, "ARCHIVED", "zeppelin", PageRequest.of(0, 10)).getTotalElements());
+
+        projectService.deleteProject(project.getId(), professor.getId(), true);
+        assertTrue(projectService.findProjects(null, null, "zeppelin", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private static List<Long> ids(Page<Project> page) {
+        return page.getContent().stream().map(Project::getId).toList();
+    }
+}
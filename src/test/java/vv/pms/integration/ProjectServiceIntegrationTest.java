@@ -6,16 +6,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import vv.pms.allocation.AllocationService;
 import vv.pms.professor.Professor;
 import vv.pms.professor.ProfessorService;
 import vv.pms.project.Program;
 import vv.pms.project.Project;
+import vv.pms.project.ProjectCursor;
 import vv.pms.project.ProjectService;
 import vv.pms.project.ProjectStatus;
 import vv.pms.project.UnauthorizedAccessException;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -202,8 +205,8 @@ class ProjectServiceIntegrationTest {
                 professor.getId()
         );
         
-        project.setDescription("Updated Description");
-        Project updated = projectService.updateProject(project, professor.getId(), false);
+        Project updated = projectService.updateProject(project.getId(), project.getTitle(), "Updated Description",
+                project.getProgramRestrictions(), 2, professor.getId(), false);
         
         assertEquals("Updated Description", updated.getDescription());
     }
@@ -220,9 +223,9 @@ class ProjectServiceIntegrationTest {
         
         Professor otherProf = professorService.addProfessor("Other Prof", "other@university.edu");
         
-        project.setTitle("Updated by Coordinator");
         // Pass different professor ID but with coordinator flag
-        Project updated = projectService.updateProject(project, otherProf.getId(), true);
+        Project updated = projectService.updateProject(project.getId(), "Updated by Coordinator", project.getDescription(),
+                project.getProgramRestrictions(), 2, otherProf.getId(), true);
         
         assertEquals("Updated by Coordinator", updated.getTitle());
     }
@@ -239,18 +242,25 @@ class ProjectServiceIntegrationTest {
         
         Professor otherProf = professorService.addProfessor("Other Prof", "other@university.edu");
         
-        project.setTitle("Should Fail");
         assertThrows(UnauthorizedAccessException.class, () ->
-                projectService.updateProject(project, otherProf.getId(), false)
+                projectService.updateProject(project.getId(), "Should Fail", project.getDescription(),
+                        project.getProgramRestrictions(), 2, otherProf.getId(), false)
         );
     }
 
     @Test
     void updateProject_nullId_throws() {
-        Project project = new Project("No Id", "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2);
-        
         assertThrows(IllegalArgumentException.class, () ->
-                projectService.updateProject(project, professor.getId(), false)
+                projectService.updateProject(null, "No Id", "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2,
+                        professor.getId(), false)
+        );
+    }
+
+    @Test
+    void updateProject_notFound_throws() {
+        assertThrows(IllegalArgumentException.class, () ->
+                projectService.updateProject(99999L, "Missing", "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2,
+                        professor.getId(), true)
         );
     }
 
@@ -370,6 +380,54 @@ class ProjectServiceIntegrationTest {
         assertTrue(firstPage.getTotalElements() >= 15);
     }
 
+    @Test
+    void findProjectsAfter_walksAllPagesInTitleOrder() {
+        // duplicate titles exercise the id tie-break
+        for (int i = 0; i < 7; i++) {
+            projectService.addProject("Keyset " + (i % 3), "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2, professor.getId());
+        }
+
+        List<Long> expected = projectService.findProjects(null, null, PageRequest.of(0, 1000)).getContent().stream()
+                .map(Project::getId).toList();
+        List<Long> walked = new ArrayList<>();
+        ProjectCursor cursor = null;
+        Slice<Project> slice;
+        do {
+            slice = projectService.findProjectsAfter(null, null, cursor, 3);
+            slice.getContent().forEach(p -> walked.add(p.getId()));
+            if (slice.hasNext()) {
+                cursor = ProjectCursor.decode(ProjectCursor.after(slice.getContent().get(2)).encode());
+            }
+        } while (slice.hasNext());
+
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void findProjectsAfter_appliesFilters() {
+        projectService.addProject("Keyset SE", "Desc", Set.of(Program.SOFTWARE_ENGINEERING), 2, professor.getId());
+        projectService.addProject("Keyset EE", "Desc", Set.of(Program.ELECTRICAL_ENGINEERING), 2, professor.getId());
+        Project archived = projectService.addProject("Keyset SE Archived", "Desc",
+                new HashSet<>(Set.of(Program.SOFTWARE_ENGINEERING)), 2, professor.getId());
+        projectService.archiveProject(archived.getId(), professor.getId(), false);
+
+        Slice<Project> slice = projectService.findProjectsAfter("SOFTWARE_ENGINEERING", "OPEN", null, 1000);
+
+        assertTrue(slice.getContent().stream().anyMatch(p -> p.getTitle().equals("Keyset SE")));
+        assertTrue(slice.getContent().stream().allMatch(p -> p.getStatus() == ProjectStatus.OPEN
+                && p.getProgramRestrictions().contains(Program.SOFTWARE_ENGINEERING)));
+        assertEquals(slice.getContent().size(), projectService.countProjects("SOFTWARE_ENGINEERING", "OPEN"));
+    }
+
+    @Test
+    void projectCursor_roundTripsTitlesWithSeparators() {
+        ProjectCursor cursor = new ProjectCursor("Graphs: a survey", 42L);
+
+        assertEquals(cursor, ProjectCursor.decode(cursor.encode()));
+        assertNull(ProjectCursor.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> ProjectCursor.decode("bm90LWEtY3Vyc29y"));
+    }
+
     @Test
     void project_multipleProgramRestrictions() {
         Project project = projectService.addProject(
@@ -0,0 +1,99 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.project.UnauthorizedAccessException;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional on purpose: cache writes are only applied once a transaction commits.
+ */
+@SpringBootTest
+class ReferenceCacheIntegrationTest {
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Professor professor;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        professor = professorService.addProfessor("Dr. Cached", "dr.cached@university.edu");
+        project = projectService.addProject("Cached Project", "Description",
+                new HashSet<>(Set.of(Program.SOFTWARE_ENGINEERING)), 2, professor.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectService.deleteProject(project.getId(), professor.getId(), true);
+        professorService.deleteProfessor(professor.getId());
+        // keep committed entries from leaking into the transactional tests sharing this context
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findProfessorById_servedFromCacheUntilModified() {
+        Professor first = professorService.findProfessorById(professor.getId()).orElseThrow();
+        Professor second = professorService.findProfessorById(professor.getId()).orElseThrow();
+        assertSame(first, second);
+
+        professorService.modifyProfessor(professor.getId(), "Dr. Renamed", professor.getEmail());
+
+        assertNull(cacheManager.getCache("professors").get(professor.getId()));
+        assertEquals("Dr. Renamed", professorService.findProfessorById(professor.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void findByIds_usesEntriesCachedBySingleLookups() {
+        Professor cached = professorService.findProfessorById(professor.getId()).orElseThrow();
+
+        Map<Long, Professor> byId = professorService.findByIds(Set.of(professor.getId()));
+
+        assertSame(cached, byId.get(professor.getId()));
+    }
+
+    @Test
+    void updateProject_rejectedEditLeavesNoTrace() {
+        Project before = projectService.findProjectById(project.getId()).orElseThrow();
+
+        assertThrows(UnauthorizedAccessException.class, () -> projectService.updateProject(project.getId(),
+                "Hijacked", "Description", Set.of(Program.SOFTWARE_ENGINEERING), 1, professor.getId() + 1, false));
+
+        assertEquals("Cached Project", before.getTitle());
+        Project after = projectService.findProjectById(project.getId()).orElseThrow();
+        assertEquals("Cached Project", after.getTitle());
+        assertEquals(2, after.getRequiredStudents());
+    }
+
+    @Test
+    void countProjects_evictedWhenProjectDeleted() {
+        Project extra = projectService.addProject("Counted Project", "Description",
+                new HashSet<>(Set.of(Program.SOFTWARE_ENGINEERING)), 2, professor.getId());
+        long before = projectService.countProjects(null, null);
+
+        projectService.deleteProject(extra.getId(), professor.getId(), true);
+
+        assertEquals(before - 1, projectService.countProjects(null, null));
+    }
+}
@@ -0,0 +1,268 @@
+package vv.pms.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import vv.pms.allocation.AllocationService;
+import vv.pms.professor.Professor;
+import vv.pms.professor.ProfessorService;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectService;
+import vv.pms.report.ReportService;
+import vv.pms.report.SystemConfigService;
+import vv.pms.student.Student;
+import vv.pms.student.StudentService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReportDownloadControllerIntegrationTest {
+
+    // report files go to a throwaway directory rather than uploads/ in the working tree
+    @TempDir
+    static Path storageDir;
+
+    @DynamicPropertySource
+    static void reportStorage(DynamicPropertyRegistry registry) {
+        registry.add("pms.reports.storage-dir", storageDir::toString);
+    }
+
+    private static final byte[] CONTENT = "%PDF-1.4 report body for download tests".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private SystemConfigService systemConfigService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ProfessorService professorService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private StudentService studentService;
+
+    private Professor professor;
+    private Project project;
+    private Student student;
+    private String url;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        systemConfigService.setReportDeadline(LocalDateTime.now().plusDays(30));
+        professor = professorService.addProfessor("Download Prof", "download.prof@university.edu");
+        project = projectService.addProject("Download Project", "Project for download tests",
+                Set.of(Program.SOFTWARE_ENGINEERING), 2, professor.getId());
+        student = studentService.addStudent("Download Student", "DL001", "dl.student@university.edu", Program.SOFTWARE_ENGINEERING);
+        allocationService.assignStudentToProject(project.getId(), student.getId());
+        reportService.submitReport(project.getId(), student.getId(), "final.pdf", new ByteArrayInputStream(CONTENT));
+
+        url = "/projects/download/" + project.getId();
+        etag = "\"" + reportService.getReportByProject(project.getId()).orElseThrow().getContentHash() + "\"";
+    }
+
+    private MockHttpSession sessionAs(String role, Long userId) {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("currentUserId", userId);
+        session.setAttribute("currentUserRole", role);
+        return session;
+    }
+
+    private MockHttpSession studentSession() {
+        return sessionAs("STUDENT", student.getId());
+    }
+
+    @Test
+    void download_assignedStudent_returnsFileWithStrongEtag() throws Exception {
+        mockMvc.perform(get(url).session(studentSession()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("filename*=UTF-8''final.pdf")))
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void download_assignedProfessor_returnsFile() throws Exception {
+        mockMvc.perform(get(url).session(sessionAs("PROFESSOR", professor.getId())))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void download_ifNoneMatchCurrentEtag_returnsNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get(url).session(studentSession()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void download_ifNoneMatchOtherEtag_returnsFile() throws Exception {
+        mockMvc.perform(get(url).session(studentSession()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void download_singleRange_returnsPartialContent() throws Exception {
+        mockMvc.perform(get(url).session(studentSession()).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/" + CONTENT.length))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 5, 10)));
+    }
+
+    @Test
+    void download_suffixRange_returnsTail() throws Exception {
+        mockMvc.perform(get(url).session(studentSession()).header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + (CONTENT.length - 4) + "-" + (CONTENT.length - 1) + "/" + CONTENT.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, CONTENT.length - 4, CONTENT.length)));
+    }
+
+    @Test
+    void download_rangeBeyondEnd_returnsNotSatisfiable() throws Exception {
+        mockMvc.perform(get(url).session(studentSession()).header(HttpHeaders.RANGE, "bytes=" + CONTENT.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length));
+    }
+
+    @Test
+    void download_ifRangeMatchingEtag_honoursRange() throws Exception {
+        mockMvc.perform(get(url).session(studentSession())
+                        .header(HttpHeaders.RANGE, "bytes=0-3")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 0, 4)));
+    }
+
+    @Test
+    void download_ifRangeMismatchingEtag_returnsWholeFile() throws Exception {
+        mockMvc.perform(get(url).session(studentSession())
+                        .header(HttpHeaders.RANGE, "bytes=0-3")
+                        .header(HttpHeaders.IF_RANGE, "\"older-version\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void download_ifRangeWithWeakEtag_returnsWholeFile() throws Exception {
+        // reports stored before content hashes existed only get a weak ETag, which If-Range may not use
+        reportService.getReportByProject(project.getId()).orElseThrow().setContentHash(null);
+        String weak = mockMvc.perform(get(url).session(studentSession()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(weak);
+        assertTrue(weak.startsWith("W/"));
+
+        mockMvc.perform(get(url).session(studentSession())
+                        .header(HttpHeaders.RANGE, "bytes=0-3")
+                        .header(HttpHeaders.IF_RANGE, weak))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void download_multipleRanges_returnsWholeFile() throws Exception {
+        mockMvc.perform(get(url).session(studentSession()).header(HttpHeaders.RANGE, "bytes=0-3,10-12"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void head_returnsHeadersWithoutBody() throws Exception {
+        MvcResult result = mockMvc.perform(head(url).session(studentSession()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void download_notLoggedIn_redirectsWithError() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/projects/details/" + project.getId()))
+                .andExpect(flash().attribute("downloadError", "You must be logged in to download reports."));
+    }
+
+    @Test
+    void download_studentOfOtherProject_redirectsWithError() throws Exception {
+        Student outsider = studentService.addStudent("Outsider", "DL002", "dl.outsider@university.edu", Program.SOFTWARE_ENGINEERING);
+
+        mockMvc.perform(get(url).session(sessionAs("STUDENT", outsider.getId())))
+                .andExpect(redirectedUrl("/projects/details/" + project.getId()))
+                .andExpect(flash().attribute("downloadError", "You are not authorized to download this report."));
+    }
+
+    @Test
+    void download_otherProfessor_redirectsWithError() throws Exception {
+        Professor other = professorService.addProfessor("Other Prof", "download.other@university.edu");
+
+        mockMvc.perform(get(url).session(sessionAs("PROFESSOR", other.getId())))
+                .andExpect(redirectedUrl("/projects/details/" + project.getId()))
+                .andExpect(flash().attribute("downloadError", "You are not authorized to download this report."));
+    }
+
+    @Test
+    void download_coordinator_redirectsWithError() throws Exception {
+        mockMvc.perform(get(url).session(sessionAs("COORDINATOR", 1L)))
+                .andExpect(redirectedUrl("/projects/details/" + project.getId()))
+                .andExpect(flash().attribute("downloadError", "You are not authorized to download this report."));
+    }
+
+    @Test
+    void download_noReport_redirectsWithError() throws Exception {
+        Project empty = projectService.addProject("No Report Project", "Nothing submitted",
+                Set.of(Program.SOFTWARE_ENGINEERING), 2, professor.getId());
+
+        mockMvc.perform(get("/projects/download/" + empty.getId()).session(sessionAs("PROFESSOR", professor.getId())))
+                .andExpect(redirectedUrl("/projects/details/" + empty.getId()))
+                .andExpect(flash().attribute("downloadError", "No report found for this project."));
+    }
+}
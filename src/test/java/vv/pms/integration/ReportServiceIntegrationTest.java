@@ -2,9 +2,12 @@ package vv.pms.integration;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import vv.pms.allocation.AllocationService;
@@ -16,10 +19,16 @@ import vv.pms.project.ProjectService;
 import vv.pms.report.ReportService;
 import vv.pms.report.ReportSubmission;
 import vv.pms.report.SystemConfigService;
+import vv.pms.report.internal.ReportSubmissionRepository;
 import vv.pms.student.Student;
 import vv.pms.student.StudentService;
 
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +37,15 @@ import static org.junit.jupiter.api.Assertions.*;
 @Transactional
 class ReportServiceIntegrationTest {
 
+    // report files go to a throwaway directory rather than uploads/ in the working tree
+    @TempDir
+    static Path storageDir;
+
+    @DynamicPropertySource
+    static void reportStorage(DynamicPropertyRegistry registry) {
+        registry.add("pms.reports.storage-dir", storageDir::toString);
+    }
+
     @Autowired
     private ReportService reportService;
 
@@ -46,6 +64,9 @@ class ReportServiceIntegrationTest {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private ReportSubmissionRepository reportSubmissionRepository;
+
     private Professor professor;
     private Project project;
     private Student student;
@@ -129,7 +150,7 @@ class ReportServiceIntegrationTest {
                 "file",
                 "test-report.pdf",
                 "application/pdf",
-                "PDF content".getBytes()
+                "%PDF-1.4 content".getBytes()
         );
         
         reportService.submitReport(project.getId(), student.getId(), "test-report.pdf", file);
@@ -140,6 +161,7 @@ class ReportServiceIntegrationTest {
         assertEquals(project.getId(), submission.get().getProjectId());
         assertEquals(student.getId(), submission.get().getSubmittedByStudentId());
         assertNotNull(submission.get().getSubmittedAt());
+        assertEquals(sha256Hex("%PDF-1.4 content".getBytes()), submission.get().getContentHash());
     }
 
     @Test
@@ -148,7 +170,7 @@ class ReportServiceIntegrationTest {
         
         systemConfigService.setReportDeadline(LocalDateTime.now().minusDays(1));
         
-        MultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", "content".getBytes());
+        MultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", "%PDF-content".getBytes());
         
         IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
                 reportService.submitReport(project.getId(), student.getId(), "report.pdf", file)
@@ -161,7 +183,7 @@ class ReportServiceIntegrationTest {
         // Create another student who is not assigned
         Student unassignedStudent = studentService.addStudent("Unassigned", "UNAS001", "unas@university.edu", Program.SOFTWARE_ENGINEERING);
         
-        MultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", "content".getBytes());
+        MultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", "%PDF-content".getBytes());
         
         IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
                 reportService.submitReport(project.getId(), unassignedStudent.getId(), "report.pdf", file)
@@ -197,10 +219,10 @@ class ReportServiceIntegrationTest {
     void submitReport_overwritesPreviousSubmission() {
         allocateStudentToProject(project, student);
         
-        MultipartFile file1 = new MockMultipartFile("file", "report-v1.pdf", "application/pdf", "version 1".getBytes());
+        MultipartFile file1 = new MockMultipartFile("file", "report-v1.pdf", "application/pdf", "%PDF-version 1".getBytes());
         reportService.submitReport(project.getId(), student.getId(), "report-v1.pdf", file1);
         
-        MultipartFile file2 = new MockMultipartFile("file", "report-v2.pdf", "application/pdf", "version 2".getBytes());
+        MultipartFile file2 = new MockMultipartFile("file", "report-v2.pdf", "application/pdf", "%PDF-version 2".getBytes());
         reportService.submitReport(project.getId(), student.getId(), "report-v2.pdf", file2);
         
         Optional<ReportSubmission> submission = reportService.getReportByProject(project.getId());
@@ -208,6 +230,35 @@ class ReportServiceIntegrationTest {
         assertEquals("report-v2.pdf", submission.get().getFilename());
     }
 
+    @Test
+    void submitReport_keepsVersionHistory() {
+        allocateStudentToProject(project, student);
+
+        for (int v = 1; v <= 3; v++) {
+            MultipartFile file = new MockMultipartFile("file", "report-v" + v + ".pdf", "application/pdf", ("%PDF-version " + v).getBytes());
+            reportService.submitReport(project.getId(), student.getId(), "report-v" + v + ".pdf", file);
+        }
+
+        List<ReportSubmission> history = reportService.getReportHistory(project.getId());
+        assertEquals(List.of("report-v3.pdf", "report-v2.pdf", "report-v1.pdf"),
+                history.stream().map(ReportSubmission::getFilename).toList());
+        assertEquals("report-v3.pdf", reportService.getReportByProject(project.getId()).orElseThrow().getFilename());
+    }
+
+    @Test
+    void deleteVersionsBeyond_keepsNewestVersions() {
+        allocateStudentToProject(project, student);
+        for (int v = 1; v <= 3; v++) {
+            MultipartFile file = new MockMultipartFile("file", "report-v" + v + ".pdf", "application/pdf", ("%PDF-version " + v).getBytes());
+            reportService.submitReport(project.getId(), student.getId(), "report-v" + v + ".pdf", file);
+        }
+
+        reportSubmissionRepository.deleteVersionsBeyond(2);
+
+        assertEquals(List.of("report-v3.pdf", "report-v2.pdf"),
+                reportService.getReportHistory(project.getId()).stream().map(ReportSubmission::getFilename).toList());
+    }
+
     @Test
     void getReportByProject_noSubmission() {
         Optional<ReportSubmission> submission = reportService.getReportByProject(project.getId());
@@ -218,7 +269,7 @@ class ReportServiceIntegrationTest {
     void getReportByProject_success() {
         allocateStudentToProject(project, student);
         
-        MultipartFile file = new MockMultipartFile("file", "my-report.pdf", "application/pdf", "content".getBytes());
+        MultipartFile file = new MockMultipartFile("file", "my-report.pdf", "application/pdf", "%PDF-content".getBytes());
         reportService.submitReport(project.getId(), student.getId(), "my-report.pdf", file);
         
         Optional<ReportSubmission> submission = reportService.getReportByProject(project.getId());
@@ -226,7 +277,8 @@ class ReportServiceIntegrationTest {
         assertTrue(submission.isPresent());
         assertEquals("my-report.pdf", submission.get().getFilename());
         assertNotNull(submission.get().getFilePath());
-        assertTrue(submission.get().getFilePath().contains("my-report.pdf"));
+        // stored by content hash, not by the uploaded name
+        assertTrue(submission.get().getFilePath().endsWith(submission.get().getContentHash()));
     }
 
     @Test
@@ -241,8 +293,8 @@ class ReportServiceIntegrationTest {
         allocateStudentToProject(project2, student2);
         
         // Submit reports for both
-        MultipartFile file1 = new MockMultipartFile("file", "report1.pdf", "application/pdf", "content1".getBytes());
-        MultipartFile file2 = new MockMultipartFile("file", "report2.pdf", "application/pdf", "content2".getBytes());
+        MultipartFile file1 = new MockMultipartFile("file", "report1.pdf", "application/pdf", "%PDF-content1".getBytes());
+        MultipartFile file2 = new MockMultipartFile("file", "report2.pdf", "application/pdf", "%PDF-content2".getBytes());
         
         reportService.submitReport(project.getId(), student.getId(), "report1.pdf", file1);
         reportService.submitReport(project2.getId(), student2.getId(), "report2.pdf", file2);
@@ -261,7 +313,7 @@ class ReportServiceIntegrationTest {
     void submitReport_pdfExtensionCaseInsensitive() {
         allocateStudentToProject(project, student);
         
-        MultipartFile file = new MockMultipartFile("file", "report.PDF", "application/pdf", "content".getBytes());
+        MultipartFile file = new MockMultipartFile("file", "report.PDF", "application/pdf", "%PDF-content".getBytes());
         
         // Should not throw - PDF extension is case-insensitive
         assertDoesNotThrow(() ->
@@ -277,7 +329,7 @@ class ReportServiceIntegrationTest {
         // Create another student who is NOT assigned to this project
         Student otherStudent = studentService.addStudent("Other Student", "OTHER001", "other@university.edu", Program.SOFTWARE_ENGINEERING);
         
-        MultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", "content".getBytes());
+        MultipartFile file = new MockMultipartFile("file", "report.pdf", "application/pdf", "%PDF-content".getBytes());
         
         // Other student should not be able to submit to this project
         IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
@@ -296,7 +348,7 @@ class ReportServiceIntegrationTest {
         allocationService.assignStudentToProject(project.getId(), student2.getId());
         
         // First student submits
-        MultipartFile file1 = new MockMultipartFile("file", "report-s1.pdf", "application/pdf", "student 1 content".getBytes());
+        MultipartFile file1 = new MockMultipartFile("file", "report-s1.pdf", "application/pdf", "%PDF-student 1 content".getBytes());
         reportService.submitReport(project.getId(), student.getId(), "report-s1.pdf", file1);
         
         Optional<ReportSubmission> sub1 = reportService.getReportByProject(project.getId());
@@ -304,7 +356,7 @@ class ReportServiceIntegrationTest {
         assertEquals(student.getId(), sub1.get().getSubmittedByStudentId());
         
         // Second student overwrites
-        MultipartFile file2 = new MockMultipartFile("file", "report-s2.pdf", "application/pdf", "student 2 content".getBytes());
+        MultipartFile file2 = new MockMultipartFile("file", "report-s2.pdf", "application/pdf", "%PDF-student 2 content".getBytes());
         reportService.submitReport(project.getId(), student2.getId(), "report-s2.pdf", file2);
         
         Optional<ReportSubmission> sub2 = reportService.getReportByProject(project.getId());
@@ -320,4 +372,12 @@ class ReportServiceIntegrationTest {
         // With future deadline already set in setUp, student should be able to submit
         assertTrue(reportService.canStudentSubmit(student.getId()));
     }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
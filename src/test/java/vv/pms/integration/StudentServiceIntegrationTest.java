@@ -177,6 +177,22 @@ class StudentServiceIntegrationTest {
         assertFalse(withoutProjectList.stream().anyMatch(s -> s.getId().equals(withProject.getId())));
     }
 
+    @Test
+    void findNamesOfStudentsWithProject_onlyAssignedStudentsInNameOrder() {
+        Student zed = studentService.addStudent("Zed Assigned", "NWP001", "zed@university.edu", Program.SOFTWARE_ENGINEERING);
+        Student amy = studentService.addStudent("Amy Assigned", "NWP002", "amy@university.edu", Program.SOFTWARE_ENGINEERING);
+        Student free = studentService.addStudent("Free Student", "NWP003", "free@university.edu", Program.SOFTWARE_ENGINEERING);
+        studentService.updateProjectStatus(zed.getId(), true);
+        studentService.updateProjectStatus(amy.getId(), true);
+
+        Map<Long, String> names = studentService.findNamesOfStudentsWithProject();
+
+        assertFalse(names.containsKey(free.getId()));
+        assertEquals(List.of(amy.getId(), zed.getId()), names.keySet().stream()
+                .filter(id -> id.equals(amy.getId()) || id.equals(zed.getId())).toList());
+        assertEquals("Amy Assigned", names.get(amy.getId()));
+    }
+
     @Test
     void updateStudent_success() {
         Student student = studentService.addStudent(
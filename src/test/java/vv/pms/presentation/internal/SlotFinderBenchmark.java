@@ -0,0 +1,161 @@
+package vv.pms.presentation.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import vv.pms.availability.AvailabilityMask;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed-mask slot search against the previous boxed Boolean[][] scan
+ * for a professor plus 1-6 students. Not part of the test suite; run {@link #main} from the IDE
+ * or with {@code java -cp target/test-classes:<test classpath> vv.pms.presentation.internal.SlotFinderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotFinderBenchmark {
+
+    private static final int DAYS = 5;
+    private static final int BINS = 16;
+    private static final int DURATION_BINS = 1;
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    public int teamSize;
+
+    private Boolean[][] roomMatrix;
+    private Boolean[][] profMatrix;
+    private List<Boolean[][]> studentMatrices;
+    private List<long[]> bookedSlots;
+
+    private AvailabilityMask roomMask;
+    private List<AvailabilityMask> participantMasks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        roomMatrix = randomMatrix(random, BINS);
+        profMatrix = randomMatrix(random, 32);
+        studentMatrices = new ArrayList<>();
+        for (int i = 0; i < teamSize; i++) {
+            studentMatrices.add(randomMatrix(random, 32));
+        }
+        // {day, start, duration} of slots already booked in the room
+        bookedSlots = List.of(new long[]{0, 3, 1}, new long[]{2, 8, 1}, new long[]{4, 0, 1});
+
+        roomMask = AvailabilityMask.of(roomMatrix);
+        participantMasks = new ArrayList<>();
+        participantMasks.add(AvailabilityMask.of(profMatrix));
+        studentMatrices.forEach(m -> participantMasks.add(AvailabilityMask.of(m)));
+    }
+
+    @Benchmark
+    public void boxedScan(Blackhole bh) {
+        Boolean[][] roomAvail = normalize(roomMatrix);
+        Boolean[][] profAvail = normalize(profMatrix);
+        List<Boolean[][]> students = new ArrayList<>();
+        for (Boolean[][] m : studentMatrices) {
+            students.add(normalize(m));
+        }
+
+        boolean[][] intersection = new boolean[DAYS][BINS];
+        for (int d = 0; d < DAYS; d++) {
+            for (int t = 0; t < BINS; t++) {
+                boolean ok = bool(roomAvail[d][t]) && bool(profAvail[d][t]);
+                for (Boolean[][] sm : students) {
+                    ok = ok && bool(sm[d][t]);
+                    if (!ok) break;
+                }
+                intersection[d][t] = ok;
+            }
+        }
+
+        Map<Integer, Set<Integer>> occupied = new HashMap<>();
+        for (long[] s : bookedSlots) {
+            Set<Integer> set = occupied.computeIfAbsent((int) s[0], k -> new HashSet<>());
+            for (int t = (int) s[1]; t < s[1] + s[2]; t++) {
+                set.add(t);
+            }
+        }
+
+        List<int[]> result = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            for (int t = 0; t <= BINS - DURATION_BINS; t++) {
+                boolean blockOk = true;
+                for (int k = 0; k < DURATION_BINS; k++) {
+                    if (!intersection[d][t + k]) {
+                        blockOk = false;
+                        break;
+                    }
+                }
+                if (!blockOk) continue;
+                Set<Integer> used = occupied.get(d);
+                boolean overlaps = false;
+                if (used != null) {
+                    for (int k = t; k < t + DURATION_BINS; k++) {
+                        overlaps |= used.contains(k);
+                    }
+                }
+                if (!overlaps) result.add(new int[]{d, t});
+            }
+        }
+        bh.consume(result);
+    }
+
+    @Benchmark
+    public void maskScan(Blackhole bh) {
+        long[] occupied = new long[DAYS];
+        for (long[] s : bookedSlots) {
+            occupied[(int) s[0]] |= SlotFinder.block((int) s[1], (int) s[2]);
+        }
+        long[] starts = SlotFinder.findStarts(roomMask, participantMasks, occupied, DAYS, BINS, DURATION_BINS);
+
+        List<int[]> result = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            for (long bits = starts[d]; bits != 0; bits &= bits - 1) {
+                result.add(new int[]{d, Long.numberOfTrailingZeros(bits)});
+            }
+        }
+        bh.consume(result);
+    }
+
+    private static Boolean[][] normalize(Boolean[][] src) {
+        Boolean[][] matrix = new Boolean[DAYS][BINS];
+        for (int d = 0; d < DAYS; d++) {
+            for (int t = 0; t < BINS; t++) {
+                Boolean v = (src != null && d < src.length && src[d] != null && t < src[d].length)
+                        ? src[d][t]
+                        : Boolean.FALSE;
+                matrix[d][t] = (v != null ? v : Boolean.FALSE);
+            }
+        }
+        return matrix;
+    }
+
+    private static boolean bool(Boolean b) {
+        return b != null && b;
+    }
+
+    private static Boolean[][] randomMatrix(Random random, int bins) {
+        Boolean[][] m = new Boolean[DAYS][bins];
+        for (int d = 0; d < DAYS; d++) {
+            for (int t = 0; t < bins; t++) {
+                m[d][t] = random.nextInt(5) != 0;
+            }
+        }
+        return m;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SlotFinderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
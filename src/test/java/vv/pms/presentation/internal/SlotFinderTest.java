@@ -0,0 +1,105 @@
+package vv.pms.presentation.internal;
+
+import org.junit.jupiter.api.Test;
+import vv.pms.availability.AvailabilityMask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotFinderTest {
+
+    @Test
+    void runStarts_requiresWholeBlockFree() {
+        // bins 1, 2, 3 and 6 free
+        long free = 0b1001110L;
+
+        assertEquals(free, SlotFinder.runStarts(free, 1));
+        assertEquals(0b0000110L, SlotFinder.runStarts(free, 2));
+        assertEquals(0b0000010L, SlotFinder.runStarts(free, 3));
+        assertEquals(0L, SlotFinder.runStarts(free, 4));
+    }
+
+    @Test
+    void block_coversRequestedBins() {
+        assertEquals(0b111000L, SlotFinder.block(3, 3));
+        assertEquals(0L, SlotFinder.block(2, 0));
+        assertEquals(-1L, SlotFinder.block(0, 64));
+    }
+
+    @Test
+    void findStarts_excludesOccupiedAndBusyParticipants() {
+        AvailabilityMask room = AvailabilityMask.full(5, 16);
+        Boolean[][] prof = new Boolean[5][32];
+        prof[0][4] = true;
+        prof[0][5] = true;
+        prof[0][6] = true;
+        Boolean[][] student = new Boolean[5][32];
+        student[0][5] = true;
+        student[0][6] = true;
+        long[] occupied = {SlotFinder.block(6, 1)};
+
+        long[] starts = SlotFinder.findStarts(room,
+                List.of(AvailabilityMask.of(prof), AvailabilityMask.of(student)), occupied, 5, 16, 1);
+
+        assertEquals(1L << 5, starts[0]);
+        for (int d = 1; d < 5; d++) {
+            assertEquals(0L, starts[d]);
+        }
+    }
+
+    @Test
+    void findStarts_ignoresParticipantBinsBeyondTheDay() {
+        AvailabilityMask room = AvailabilityMask.full(5, 16);
+        AvailabilityMask participant = AvailabilityMask.full(5, 32);
+
+        long[] starts = SlotFinder.findStarts(room, List.of(participant), new long[0], 5, 16, 2);
+
+        assertEquals((1L << 15) - 1, starts[0]);
+    }
+
+    @Test
+    void findStarts_matchesCellByCellScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            Boolean[][] room = randomMatrix(random, 16);
+            List<Boolean[][]> people = new ArrayList<>();
+            for (int i = 0, n = 1 + random.nextInt(6); i < n; i++) {
+                people.add(randomMatrix(random, 32));
+            }
+            long[] occupied = new long[5];
+            for (int d = 0; d < 5; d++) {
+                occupied[d] = random.nextLong() & random.nextLong() & 0xFFFFL;
+            }
+            int duration = 1 + random.nextInt(3);
+
+            long[] starts = SlotFinder.findStarts(AvailabilityMask.of(room),
+                    people.stream().map(AvailabilityMask::of).toList(), occupied, 5, 16, duration);
+
+            for (int d = 0; d < 5; d++) {
+                for (int t = 0; t < 16; t++) {
+                    boolean expected = t + duration <= 16;
+                    for (int k = 0; expected && k < duration; k++) {
+                        expected = room[d][t + k] && (occupied[d] & (1L << (t + k))) == 0;
+                        for (Boolean[][] p : people) {
+                            expected = expected && p[d][t + k];
+                        }
+                    }
+                    assertEquals(expected, (starts[d] & (1L << t)) != 0, "day " + d + " bin " + t);
+                }
+            }
+        }
+    }
+
+    private static Boolean[][] randomMatrix(Random random, int bins) {
+        Boolean[][] m = new Boolean[5][bins];
+        for (int d = 0; d < 5; d++) {
+            for (int t = 0; t < bins; t++) {
+                m[d][t] = random.nextInt(4) != 0;
+            }
+        }
+        return m;
+    }
+}
@@ -0,0 +1,117 @@
+package vv.pms.presentation.internal;
+
+import org.junit.jupiter.api.Test;
+import vv.pms.availability.AvailabilityMask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableSolverTest {
+
+    private static final int DAYS = 5;
+    private static final int BINS = 16;
+
+    @Test
+    void solve_mostConstrainedProjectGoesFirst() {
+        // project 1 could take bin 0 or 1, project 2 only bin 0; taking them in order would lose project 2
+        TimetableSolver.Request flexible = request(1L, 100L, freeAt(0, 0, 1));
+        TimetableSolver.Request tight = request(2L, 200L, freeAt(0, 0));
+
+        TimetableSolver.Result result = TimetableSolver.solve(List.of(flexible, tight),
+                List.of(room(10L)), List.of(), DAYS, BINS, 1, 1000);
+
+        Map<Long, TimetableSolver.Placement> byProject = byProject(result);
+        assertEquals(2, byProject.size());
+        assertEquals(0, byProject.get(2L).startBinIndex());
+        assertEquals(1, byProject.get(1L).startBinIndex());
+        assertTrue(result.unschedulable().isEmpty());
+    }
+
+    @Test
+    void solve_professorCannotPresentTwiceAtOnce() {
+        AvailabilityMask team = freeAt(0, 3, 4);
+        TimetableSolver.Result result = TimetableSolver.solve(
+                List.of(request(1L, 100L, team), request(2L, 100L, team)),
+                List.of(room(10L), room(11L)), List.of(), DAYS, BINS, 1, 1000);
+
+        Map<Long, TimetableSolver.Placement> byProject = byProject(result);
+        assertEquals(2, byProject.size());
+        assertNotEquals(byProject.get(1L).startBinIndex(), byProject.get(2L).startBinIndex());
+    }
+
+    @Test
+    void solve_respectsExistingBookings() {
+        TimetableSolver.Booking booking = new TimetableSolver.Booking(10L, 999L, 0, 5, 1);
+
+        TimetableSolver.Result result = TimetableSolver.solve(
+                List.of(request(1L, 100L, freeAt(0, 5, 6))),
+                List.of(room(10L)), List.of(booking), DAYS, BINS, 1, 1000);
+
+        assertEquals(6, result.placements().get(0).startBinIndex());
+    }
+
+    @Test
+    void solve_reportsWhyProjectsCannotBeScheduled() {
+        TimetableSolver.Request noCommonTime = new TimetableSolver.Request(1L, 100L,
+                List.of(freeAt(0, 1), freeAt(0, 2)));
+        TimetableSolver.Request outsideRoomHours = request(2L, 200L, freeAt(1, 3));
+        TimetableSolver.Request booked = request(3L, 300L, freeAt(0, 7));
+        TimetableSolver.Request crowdedOut = request(4L, 400L, freeAt(0, 8));
+        TimetableSolver.Request winner = request(5L, 500L, freeAt(0, 8));
+        TimetableSolver.RoomCalendar room = new TimetableSolver.RoomCalendar(10L, freeAt(0, 7, 8));
+
+        TimetableSolver.Result result = TimetableSolver.solve(
+                List.of(noCommonTime, outsideRoomHours, booked, crowdedOut, winner),
+                List.of(room), List.of(new TimetableSolver.Booking(10L, null, 0, 7, 1)),
+                DAYS, BINS, 1, 1000);
+
+        assertEquals(1, result.placements().size());
+        assertEquals(TimetableSolver.NO_COMMON_TIME, result.unschedulable().get(1L));
+        assertEquals(TimetableSolver.NO_ROOM, result.unschedulable().get(2L));
+        assertEquals(TimetableSolver.ROOMS_BOOKED, result.unschedulable().get(3L));
+        assertEquals(1, result.unschedulable().entrySet().stream()
+                .filter(e -> e.getValue().equals(TimetableSolver.CONFLICTS)).count());
+    }
+
+    @Test
+    void solve_fillsEveryFreeBinWhenPossible() {
+        // 16 single-bin projects with nested windows: project i is free in bins 0..i
+        List<TimetableSolver.Request> requests = new ArrayList<>();
+        for (int i = BINS - 1; i >= 0; i--) {
+            int[] bins = new int[i + 1];
+            for (int t = 0; t <= i; t++) bins[t] = t;
+            requests.add(request((long) i, (long) (100 + i), freeAt(2, bins)));
+        }
+
+        TimetableSolver.Result result = TimetableSolver.solve(requests, List.of(room(10L)), List.of(),
+                DAYS, BINS, 1, 1000);
+
+        assertEquals(BINS, result.placements().size());
+        assertFalse(result.timedOut());
+    }
+
+    private static TimetableSolver.Request request(Long projectId, Long professorId, AvailabilityMask team) {
+        return new TimetableSolver.Request(projectId, professorId, List.of(team));
+    }
+
+    private static TimetableSolver.RoomCalendar room(Long id) {
+        return new TimetableSolver.RoomCalendar(id, AvailabilityMask.full(DAYS, BINS));
+    }
+
+    private static AvailabilityMask freeAt(int day, int... bins) {
+        Boolean[][] matrix = new Boolean[DAYS][32];
+        for (int t : bins) {
+            matrix[day][t] = true;
+        }
+        return AvailabilityMask.of(matrix);
+    }
+
+    private static Map<Long, TimetableSolver.Placement> byProject(TimetableSolver.Result result) {
+        return result.placements().stream()
+                .collect(Collectors.toMap(TimetableSolver.Placement::projectId, p -> p));
+    }
+}
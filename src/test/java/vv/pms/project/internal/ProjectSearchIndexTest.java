@@ -0,0 +1,81 @@
+package vv.pms.project.internal;
+
+import org.junit.jupiter.api.Test;
+import vv.pms.project.Program;
+import vv.pms.project.Project;
+import vv.pms.project.ProjectStatus;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectSearchIndexTest {
+
+    private final ProjectSearchIndex index = new ProjectSearchIndex();
+
+    @Test
+    void search_ranksTitleMatchesAboveDescriptionMatches() {
+        index.index(project(1L, "Compiler construction", "Parsing and code generation for a toy language."));
+        index.index(project(2L, "Robot arm", "Uses a small compiler for its motion scripts."));
+        index.index(project(3L, "Web portal", "Student project management."));
+
+        ProjectSearchIndex.Hits hits = index.search("Compiler", null, null, 0, 10);
+
+        assertEquals(List.of(1L, 2L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void search_rareTermsWeighMore() {
+        index.index(project(1L, "Machine learning", "Learning to rank search results."));
+        index.index(project(2L, "Machine vision", "Cameras on a production line."));
+        index.index(project(3L, "Machine shop", "Scheduling machine time."));
+
+        assertEquals(1L, index.search("machine learning", null, null, 0, 10).ids().get(0));
+    }
+
+    @Test
+    void search_appliesFiltersAndPaging() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(project(id, "Graph algorithms " + id, "Shortest paths."));
+        }
+        Project archived = project(6L, "Graph databases", "Storage.");
+        archived.archive();
+        index.index(archived);
+
+        assertEquals(5, index.search("graph", null, ProjectStatus.OPEN, 0, 2).total());
+        assertEquals(List.of(6L), index.search("graph", null, ProjectStatus.ARCHIVED, 0, 10).ids());
+        assertEquals(0, index.search("graph", Program.ELECTRICAL_ENGINEERING, null, 0, 10).total());
+
+        List<Long> first = index.search("graph", null, null, 0, 3).ids();
+        List<Long> second = index.search("graph", null, null, 3, 3).ids();
+        assertEquals(3, first.size());
+        assertEquals(3, second.size());
+        assertTrue(first.stream().noneMatch(second::contains));
+    }
+
+    @Test
+    void index_replacesAndRemoveForgetsPreviousContent() {
+        index.index(project(1L, "Quantum sensing", "Lab work."));
+        index.index(project(1L, "Solar cells", "Lab work."));
+
+        assertEquals(0, index.search("quantum", null, null, 0, 10).total());
+        assertEquals(List.of(1L), index.search("solar", null, null, 0, 10).ids());
+
+        index.remove(1L);
+
+        assertEquals(0, index.search("solar", null, null, 0, 10).total());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void tokenize_dropsPunctuationCaseAndStopWords() {
+        assertEquals(List.of("real", "time", "os", "c"), ProjectSearchIndex.tokenize("Real-time OS, in C++!"));
+        assertTrue(index.search("the of and", null, null, 0, 10).ids().isEmpty());
+    }
+
+    private static Project project(Long id, String title, String description) {
+        return new Project(id, title, description, Set.of(Program.SOFTWARE_ENGINEERING), 2);
+    }
+}
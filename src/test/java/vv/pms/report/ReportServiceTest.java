@@ -1,19 +1,24 @@
 package vv.pms.report;
 
-import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
 import vv.pms.allocation.AllocationService;
 import vv.pms.allocation.ProjectAllocation;
+import vv.pms.report.internal.ReportBlobStore;
 import vv.pms.report.internal.ReportSubmissionRepository;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,24 +35,21 @@ class ReportServiceTest {
     @Mock
     private AllocationService allocationService;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path storageDir;
+
     private ReportService reportService;
 
     private final Long projectId = 1L;
     private final Long studentId = 100L;
 
-    @AfterEach
-    void cleanup() {
-        // Best-effort cleanup of files created during tests
-        try {
-            Files.walk(Paths.get("uploads/reports"))
-                .filter(p -> p.getFileName().toString().startsWith(projectId + "_"))
-                .forEach(p -> {
-                    try { Files.deleteIfExists(p); } catch (IOException e) {}
-                });
-        } catch (IOException e) {
-            // ignore
-        }
+    @BeforeEach
+    void setUp() {
+        reportService = new ReportService(repository, systemConfigService, allocationService,
+                transactionManager, new ReportBlobStore(storageDir), DataSize.ofKilobytes(1));
     }
 
     @Test
@@ -105,19 +107,77 @@ class ReportServiceTest {
         ProjectAllocation allocation = new ProjectAllocation(projectId, 10L);
         allocation.addStudent(studentId);
         when(allocationService.findAllocationByProjectId(projectId)).thenReturn(Optional.of(allocation));
-        when(repository.findByProjectId(projectId)).thenReturn(Optional.empty());
-        
-        MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", "content".getBytes());
+
+        MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", "%PDF-1.4 content".getBytes());
 
         reportService.submitReport(projectId, studentId, "test.pdf", file);
 
         verify(repository).save(any(ReportSubmission.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void submitReport_resubmissionAppendsVersionSharingStoredFile() throws IOException {
+        when(systemConfigService.isBeforeDeadline()).thenReturn(true);
+        ProjectAllocation allocation = new ProjectAllocation(projectId, 10L);
+        allocation.addStudent(studentId);
+        when(allocationService.findAllocationByProjectId(projectId)).thenReturn(Optional.of(allocation));
+        byte[] content = "%PDF-1.4 same content".getBytes();
+
+        reportService.submitReport(projectId, studentId, "v1.pdf", new MockMultipartFile("file", content));
+        reportService.submitReport(projectId, studentId, "v2.pdf", new MockMultipartFile("file", content));
+
+        ArgumentCaptor<ReportSubmission> saved = ArgumentCaptor.forClass(ReportSubmission.class);
+        verify(repository, times(2)).save(saved.capture());
+        ReportSubmission first = saved.getAllValues().get(0);
+        ReportSubmission second = saved.getAllValues().get(1);
+        assertNotSame(first, second);
+        assertEquals("v2.pdf", second.getFilename());
+        assertEquals(first.getFilePath(), second.getFilePath());
+        assertEquals(content.length, second.getFileSize());
+        try (var files = Files.walk(storageDir.resolve("blobs"))) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void submitReport_rejectsContentThatIsNotPdf() throws IOException {
+        when(systemConfigService.isBeforeDeadline()).thenReturn(true);
+        ProjectAllocation allocation = new ProjectAllocation(projectId, 10L);
+        allocation.addStudent(studentId);
+        when(allocationService.findAllocationByProjectId(projectId)).thenReturn(Optional.of(allocation));
+
+        MockMultipartFile file = new MockMultipartFile("file", "test.pdf", "application/pdf", "<html>not a pdf".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () ->
+            reportService.submitReport(projectId, studentId, "test.pdf", file)
+        );
+        verifyNoInteractions(repository, transactionManager);
+        assertNoTempFilesLeft();
+    }
+
+    @Test
+    void submitReport_rejectsFileOverSizeLimit() throws IOException {
+        when(systemConfigService.isBeforeDeadline()).thenReturn(true);
+        ProjectAllocation allocation = new ProjectAllocation(projectId, 10L);
+        allocation.addStudent(studentId);
+        when(allocationService.findAllocationByProjectId(projectId)).thenReturn(Optional.of(allocation));
+
+        byte[] content = new byte[2048];
+        System.arraycopy("%PDF-".getBytes(), 0, content, 0, 5);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            reportService.submitReport(projectId, studentId, "big.pdf", new ByteArrayInputStream(content))
+        );
+        verifyNoInteractions(repository, transactionManager);
+        assertNoTempFilesLeft();
     }
     
     @Test
     void canStudentSubmit_checksDeadlineAndAllocation() {
         when(systemConfigService.isBeforeDeadline()).thenReturn(true);
-        when(allocationService.findAllocationByStudentId(studentId)).thenReturn(Optional.of(new ProjectAllocation(projectId, 10L)));
+        when(allocationService.findProjectIdByStudentId(studentId)).thenReturn(Optional.of(projectId));
         
         assertTrue(reportService.canStudentSubmit(studentId));
     }
@@ -125,8 +185,14 @@ class ReportServiceTest {
     @Test
     void getSubmissionStatus_returnsReady() {
         when(systemConfigService.isBeforeDeadline()).thenReturn(true);
-        when(allocationService.findAllocationByStudentId(studentId)).thenReturn(Optional.of(new ProjectAllocation(projectId, 10L)));
+        when(allocationService.findProjectIdByStudentId(studentId)).thenReturn(Optional.of(projectId));
         
         assertEquals("Ready to submit", reportService.getSubmissionStatus(studentId));
     }
+
+    private void assertNoTempFilesLeft() throws IOException {
+        try (var files = Files.list(storageDir.resolve("blobs/tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
 }
@@ -5,10 +5,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 import vv.pms.report.internal.SystemConfigRepository;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +26,12 @@ class SystemConfigServiceTest {
     @Mock
     private SystemConfigRepository repository;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private SystemConfigService service;
 
@@ -41,7 +52,7 @@ class SystemConfigServiceTest {
         // but ISO_DATE_TIME usually handles it.
         String iso = now.format(DateTimeFormatter.ISO_DATE_TIME);
         SystemConfig config = new SystemConfig("REPORT_DEADLINE", iso);
-        when(repository.findByConfigKey("REPORT_DEADLINE")).thenReturn(Optional.of(config));
+        when(repository.findAll()).thenReturn(List.of(config));
 
         Optional<LocalDateTime> result = service.getReportDeadline();
 
@@ -54,7 +65,7 @@ class SystemConfigServiceTest {
         LocalDateTime future = LocalDateTime.now().plusDays(1);
         String iso = future.format(DateTimeFormatter.ISO_DATE_TIME);
         SystemConfig config = new SystemConfig("REPORT_DEADLINE", iso);
-        when(repository.findByConfigKey("REPORT_DEADLINE")).thenReturn(Optional.of(config));
+        when(repository.findAll()).thenReturn(List.of(config));
 
         assertTrue(service.isBeforeDeadline());
     }
@@ -64,14 +75,86 @@ class SystemConfigServiceTest {
         LocalDateTime past = LocalDateTime.now().minusDays(1);
         String iso = past.format(DateTimeFormatter.ISO_DATE_TIME);
         SystemConfig config = new SystemConfig("REPORT_DEADLINE", iso);
-        when(repository.findByConfigKey("REPORT_DEADLINE")).thenReturn(Optional.of(config));
+        when(repository.findAll()).thenReturn(List.of(config));
 
         assertFalse(service.isBeforeDeadline());
     }
 
     @Test
     void isBeforeDeadline_returnsTrue_whenNoDeadlineSet() {
-        when(repository.findByConfigKey("REPORT_DEADLINE")).thenReturn(Optional.empty());
+        when(repository.findAll()).thenReturn(List.of());
+        assertTrue(service.isBeforeDeadline());
+    }
+
+    @Test
+    void isBeforeDeadline_readsSnapshotUntilDeadlineChanges() {
+        SystemConfig config = new SystemConfig("REPORT_DEADLINE", LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ISO_DATE_TIME));
+        when(repository.findAll()).thenReturn(List.of(config));
+
+        assertTrue(service.isBeforeDeadline());
         assertTrue(service.isBeforeDeadline());
+        verify(repository, times(1)).findAll();
+        // only the miss opened a transaction
+        verify(transactionManager, times(1)).getTransaction(any());
+
+        when(repository.findByConfigKey("REPORT_DEADLINE")).thenReturn(Optional.of(config));
+        service.setReportDeadline(LocalDateTime.now().minusDays(1));
+
+        assertFalse(service.isBeforeDeadline());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void typedGetters_parseFromSnapshot() {
+        when(repository.findAll()).thenReturn(List.of(
+                new SystemConfig("WINDOW_OPENS", "2026-01-05T14:00:00Z"),
+                new SystemConfig("SLOT_LENGTH", "PT30M"),
+                new SystemConfig("MAX_MB", "25"),
+                new SystemConfig("UPLOADS_ENABLED", "false")));
+
+        assertEquals(Optional.of(Instant.parse("2026-01-05T14:00:00Z")), service.getInstant("WINDOW_OPENS"));
+        assertEquals(Duration.ofMinutes(30), service.getDuration("SLOT_LENGTH", Duration.ZERO));
+        assertEquals(25, service.getInt("MAX_MB", 10));
+        assertFalse(service.getBoolean("UPLOADS_ENABLED", true));
+        assertEquals(7, service.getInt("MISSING", 7));
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void setValue_publishesChangeOnlyWhenValueDiffers() {
+        SystemConfig existing = new SystemConfig("MAX_MB", "10");
+        existing.setId(1L);
+        when(repository.findByConfigKey("MAX_MB")).thenReturn(Optional.of(existing));
+
+        service.setInt("MAX_MB", 25);
+        service.setInt("MAX_MB", 25);
+
+        verify(events, times(1)).publishEvent(new SystemConfigChanged("MAX_MB", "10", "25"));
+    }
+
+    @Test
+    void typedGetters_malformedValue_fallBackToDefault() {
+        when(repository.findAll()).thenReturn(List.of(
+                new SystemConfig(SystemConfigService.REPORT_KEEP_VERSIONS, "five"),
+                new SystemConfig("SLOT_LENGTH", "30 minutes")));
+
+        assertEquals(5, service.getInt(SystemConfigService.REPORT_KEEP_VERSIONS, 5));
+        assertEquals(5, service.getInt(SystemConfigService.REPORT_KEEP_VERSIONS, 5));
+        assertEquals(Duration.ofMinutes(15), service.getDuration("SLOT_LENGTH", Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void setValue_rejectsMalformedValueForKnownKey() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.setValue(SystemConfigService.REPORT_MAX_FILE_SIZE_MB, "ten"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.setValue(SystemConfigService.REPORT_DEADLINE, "next friday"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.setInt(SystemConfigService.REPORT_KEEP_VERSIONS, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.setInt(SystemConfigService.REPORT_MAX_FILE_SIZE_MB, -1));
+
+        verify(repository, never()).save(any(SystemConfig.class));
+        verifyNoInteractions(events);
     }
 }
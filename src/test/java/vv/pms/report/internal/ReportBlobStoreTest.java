@@ -0,0 +1,77 @@
+package vv.pms.report.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportBlobStoreTest {
+
+    private static final String HASH_A = "a".repeat(64);
+    private static final String HASH_B = "b".repeat(64);
+
+    @TempDir
+    Path storageDir;
+
+    @Test
+    void commit_shardsByHash() throws IOException {
+        ReportBlobStore store = new ReportBlobStore(storageDir);
+
+        Path blob = store.commit(tempWith(store, "x"), HASH_A);
+
+        assertEquals(storageDir.toAbsolutePath().resolve("blobs/aa/aa/" + HASH_A), blob);
+        assertEquals("x", Files.readString(blob));
+    }
+
+    @Test
+    void commit_existingBlobDropsTempFile() throws IOException {
+        ReportBlobStore store = new ReportBlobStore(storageDir);
+        Path first = store.commit(tempWith(store, "x"), HASH_A);
+        Path temp = tempWith(store, "x");
+
+        assertEquals(first, store.commit(temp, HASH_A));
+        assertFalse(Files.exists(temp));
+    }
+
+    @Test
+    void resolve_rejectsNonHashNames() {
+        ReportBlobStore store = new ReportBlobStore(storageDir);
+
+        assertThrows(IllegalArgumentException.class, () -> store.resolve("../../etc/passwd"));
+    }
+
+    @Test
+    void collect_deletesOnlyOldUnreferencedFiles() throws IOException {
+        ReportBlobStore store = new ReportBlobStore(storageDir);
+        Instant old = Instant.now().minus(2, ChronoUnit.HOURS);
+        Path referenced = age(store.commit(tempWith(store, "a"), HASH_A), old);
+        Path orphan = age(store.commit(tempWith(store, "b"), HASH_B), old);
+        Path abandonedTemp = age(tempWith(store, "c"), old);
+        Path freshTemp = tempWith(store, "d");
+
+        int deleted = store.collect(Set.of(HASH_A), Instant.now().minus(1, ChronoUnit.HOURS));
+
+        assertEquals(2, deleted);
+        assertTrue(Files.exists(referenced));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(abandonedTemp));
+        assertTrue(Files.exists(freshTemp));
+    }
+
+    private static Path tempWith(ReportBlobStore store, String content) throws IOException {
+        return Files.writeString(store.createTempFile(), content);
+    }
+
+    private static Path age(Path file, Instant when) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(when));
+        return file;
+    }
+}